@@ -1,21 +1,32 @@
 package com.personal.portfolio.config.core;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
 
 @Slf4j
 @Configuration
 public class ApplicationConfiguration {
 
     @Bean
-    public PasswordEncoder passwordEncoder(BcryptProperties bcryptProperties) {
-        log.info("Initializing BCrypt encoder with strength: {}", bcryptProperties.strength());
-        return new BCryptPasswordEncoder(bcryptProperties.strength());
+    public BoundedPasswordEncoder passwordEncoder(BcryptProperties bcryptProperties, MeterRegistry meterRegistry) {
+        var encoder = bcryptProperties.calibrated()
+                ? TargetCostPasswordEncoder.calibrated(Duration.ofMillis(bcryptProperties.targetLatency()))
+                : new TargetCostPasswordEncoder(bcryptProperties.strength());
+        var threads = bcryptProperties.executorThreads() > 0 ? bcryptProperties.executorThreads() : Runtime.getRuntime().availableProcessors();
+        log.info("Initializing BCrypt encoder with strength: {} on {} threads (queue capacity {})",
+                encoder.getStrength(), threads, bcryptProperties.queueCapacity());
+        return new BoundedPasswordEncoder(
+                encoder,
+                threads,
+                bcryptProperties.queueCapacity(),
+                bcryptProperties.retryAfterSeconds(),
+                meterRegistry);
     }
 
     @Bean
@@ -14,13 +14,25 @@ public record BcryptProperties(
 
         @DefaultValue("12") @Min(4) @Max(31) int strength,
 
-        @DefaultValue("STANDARD") @Pattern(regexp = "STANDARD|LEGACY") String mode,
+        @DefaultValue("STANDARD") @Pattern(regexp = "STANDARD|LEGACY|CALIBRATED") String mode,
 
-        @DefaultValue("false") boolean debugLoggingEnabled
+        @DefaultValue("100") @Min(1) long targetLatency,
+
+        @DefaultValue("false") boolean debugLoggingEnabled,
+
+        @DefaultValue("0") @Min(0) int executorThreads,
+
+        @DefaultValue("64") @Min(1) int queueCapacity,
+
+        @DefaultValue("1") @Min(1) int retryAfterSeconds
 
 ) {
     @AssertTrue(message = "Debug logging can only be enabled when strength is 10 or less")
     public boolean isDebugAllowed() {
         return !debugLoggingEnabled || strength <= 10;
     }
+
+    public boolean calibrated() {
+        return "CALIBRATED".equals(mode);
+    }
 }
\ No newline at end of file
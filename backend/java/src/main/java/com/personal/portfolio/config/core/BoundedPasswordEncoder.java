@@ -0,0 +1,145 @@
+package com.personal.portfolio.config.core;
+
+import com.personal.portfolio.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password hashing on a fixed pool sized to the CPU instead of on request threads. Work beyond the pool and its
+ * bounded queue is rejected immediately with {@link PasswordHashingOverloadedException} rather than queued forever.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final long BULK_RETRY_DELAY_MILLIS = 10;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSeconds;
+    private final Timer encodeQueueWait;
+    private final Timer encodeDuration;
+    private final Timer matchesQueueWait;
+    private final Timer matchesDuration;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, int retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeQueueWait = timer("auth.password.queue.wait", "encode", meterRegistry);
+        this.encodeDuration = timer("auth.password.hash.duration", "encode", meterRegistry);
+        this.matchesQueueWait = timer("auth.password.queue.wait", "matches", meterRegistry);
+        this.matchesDuration = timer("auth.password.hash.duration", "matches", meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeQueueWait, encodeDuration);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesQueueWait, matchesDuration);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashes a batch with at most one task per pool thread in flight. Bulk work waits for free capacity instead of
+     * being rejected, so it never fills the queue that interactive logins rely on.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        var inFlight = new Semaphore(executor.getCorePoolSize());
+        var futures = new ArrayList<Future<String>>(rawPasswords.size());
+        try {
+            for (var rawPassword : rawPasswords) {
+                inFlight.acquire();
+                var submittedAt = System.nanoTime();
+                futures.add(submitWhenAccepted(() -> {
+                    try {
+                        encodeQueueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                        return encodeDuration.recordCallable(() -> delegate.encode(rawPassword));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            var encoded = new ArrayList<String>(futures.size());
+            for (var future : futures) {
+                encoded.add(future.get());
+            }
+            return encoded;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task, Timer queueWait, Timer duration) {
+        var submittedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return duration.recordCallable(task);
+            }).get();
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingOverloadedException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> Future<T> submitWhenAccepted(Callable<T> task) throws InterruptedException {
+        while (true) {
+            try {
+                return executor.submit(task);
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) throw e;
+                Thread.sleep(BULK_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private static Timer timer(String name, String operation, MeterRegistry meterRegistry) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
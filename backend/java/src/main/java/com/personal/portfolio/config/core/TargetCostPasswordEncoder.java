@@ -0,0 +1,61 @@
+package com.personal.portfolio.config.core;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt encoder that treats any stored hash whose cost differs from its own as due for an upgrade, so hashes
+ * converge on the configured (or calibrated) cost as users log in.
+ */
+@Slf4j
+@Getter
+public class TargetCostPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final int MIN_CALIBRATED_COST = 10;
+    private static final int MAX_COST = 31;
+    private static final int BASE_COST = 8;
+    private static final int SAMPLES = 5;
+
+    private final int strength;
+
+    public TargetCostPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Times hashing on this host at a low cost and extrapolates to the cost whose hash time is closest to
+     * {@code targetLatency}; each cost step doubles the work. Never goes below {@value MIN_CALIBRATED_COST}.
+     */
+    public static TargetCostPasswordEncoder calibrated(Duration targetLatency) {
+        var salt = BCrypt.gensalt(BASE_COST);
+        var fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            var start = System.nanoTime();
+            BCrypt.hashpw("calibration-password", salt);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        var steps = Math.round(Math.log((double) targetLatency.toNanos() / Math.max(1, fastest)) / Math.log(2));
+        var cost = (int) Math.clamp(BASE_COST + steps, MIN_CALIBRATED_COST, MAX_COST);
+        log.info("Calibrated BCrypt cost {} for a {} ms target (cost {} took {} µs on this host)",
+                cost, targetLatency.toMillis(), BASE_COST, fastest / 1_000);
+        return new TargetCostPasswordEncoder(cost);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(6) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword, 4, 6, 10) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
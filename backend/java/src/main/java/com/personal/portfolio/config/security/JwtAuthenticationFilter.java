@@ -1,14 +1,19 @@
 package com.personal.portfolio.config.security;
 
 import com.personal.portfolio.service.JwtService;
+import com.personal.portfolio.service.TokenEpochRegistry;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,6 +21,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Slf4j
 @Component
@@ -24,6 +30,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -37,13 +47,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             var jwt = authHeader.substring(7);
-            var userEmail = jwtService.extractUsername(jwt);
+            var claims = jwtService.verifyToken(jwt).orElse(null);
+            var userEmail = claims != null ? claims.getSubject() : null;
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var userDetails = userDetailsService.loadUserByUsername(userEmail);
+                var authToken = statelessPrincipal ? authenticateFromClaims(claims) : authenticateFromUserDetails(userEmail);
 
-                if (userDetails.isEnabled() && jwtService.isTokenValid(jwt, userDetails)) {
-                    var authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -55,4 +65,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(Claims claims) {
+        if (tokenEpochRegistry.isRevoked(claims.getSubject(), claims.getIssuedAt())) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, extractAuthorities(claims));
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(String userEmail) {
+        var userDetails = userDetailsService.loadUserByUsername(userEmail);
+
+        if (!userDetails.isEnabled() || !userEmail.equals(userDetails.getUsername())) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private List<GrantedAuthority> extractAuthorities(Claims claims) {
+        var roles = claims.get("roles", List.class);
+        if (roles == null) return List.of();
+
+        return ((List<?>) roles).stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+    }
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ public class SecurityConfiguration {
             "/v3/api-docs/**",
             "/swagger-ui/**",
             "/auth/**",
+            "/.well-known/**",
             "/actuator/health/**",
             "/actuator/info"
     };
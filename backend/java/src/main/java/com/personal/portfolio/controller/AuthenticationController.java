@@ -18,10 +18,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -57,6 +59,18 @@ public class AuthenticationController {
         return ResponseEntity.ok(new LoginResponse(token, expiresIn, user.getRole(), null));
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "User Logout", description = "Revoke the bearer token sent with the request.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Token revoked")
+    })
+    public ResponseEntity<MessageResponse> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            jwtService.revokeToken(authorization.substring(7));
+        }
+        return ResponseEntity.ok(new MessageResponse("Logged out successfully.", null));
+    }
+
     @PostMapping("/signup")
     @Operation(summary = "User Registration", description = "Register a new user.")
     @ApiResponses({
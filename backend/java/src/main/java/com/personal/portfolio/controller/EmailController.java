@@ -1,19 +1,27 @@
 package com.personal.portfolio.controller;
 
+import com.personal.portfolio.dto.email.BulkEmailJobResponse;
+import com.personal.portfolio.dto.email.EmailQueuedResponse;
+import com.personal.portfolio.dto.email.EmailStatusResponse;
+import com.personal.portfolio.model.EmailStatus;
+import com.personal.portfolio.service.BulkEmailService;
 import com.personal.portfolio.service.EmailService;
 import jakarta.validation.constraints.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.net.URI;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 @Validated
@@ -23,9 +31,10 @@ import java.util.List;
 public class EmailController {
 
     private final EmailService emailService;
+    private final BulkEmailService bulkEmailService;
 
     @PostMapping("/send")
-    public ResponseEntity<String> sendEmail(
+    public ResponseEntity<EmailQueuedResponse> sendEmail(
             @RequestParam @Email(message = "Invalid email address") String recipient,
             @RequestParam @NotBlank @Size(max = 100) String subject,
             @RequestParam @NotBlank @Size(max = 1000) String body,
@@ -34,18 +43,36 @@ public class EmailController {
             @RequestParam(required = false) @Email String replyTo,
             @RequestParam(defaultValue = "false") boolean isHtml) {
 
-        emailService.sendEmail(recipient, subject, body, cc, bcc, replyTo, isHtml);
-        return ResponseEntity.ok("Email sent successfully.");
+        var messageId = emailService.sendEmail(recipient, subject, body, cc, bcc, replyTo, isHtml);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/email/" + messageId))
+                .body(new EmailQueuedResponse(messageId, EmailStatus.PENDING));
+    }
+
+    @GetMapping("/{messageId}")
+    public ResponseEntity<EmailStatusResponse> getEmailStatus(@PathVariable String messageId) {
+        return emailService.findQueuedEmail(messageId)
+                .map(message -> ResponseEntity.ok(EmailStatusResponse.from(message)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping("/send-bulk")
-    public ResponseEntity<String> sendBulkEmail(
+    public ResponseEntity<BulkEmailJobResponse> sendBulkEmail(
             @RequestParam @NotEmpty List<@Email String> recipients,
             @RequestParam @NotBlank @Size(max = 100) String subject,
             @RequestParam @NotBlank @Size(max = 1000) String body) {
 
-        emailService.sendBulkEmail(recipients, subject, body);
-        return ResponseEntity.ok("Bulk email sent successfully.");
+        var job = bulkEmailService.start(recipients, subject, body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/email/bulk/" + job.jobId()))
+                .body(job);
+    }
+
+    @GetMapping("/bulk/{jobId}")
+    public ResponseEntity<BulkEmailJobResponse> getBulkEmailJob(@PathVariable String jobId) {
+        return bulkEmailService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping("/send-with-attachment")
@@ -57,13 +84,14 @@ public class EmailController {
             @RequestParam(required = false) List<@Email String> bcc,
             @RequestParam(required = false) @Email String replyTo,
             @RequestParam(defaultValue = "false") boolean isHtml,
-            @RequestParam(required = false) MultipartFile[] attachments) throws IOException {
+            @RequestParam(required = false) MultipartFile[] attachments) {
 
-        var attachmentMap = new HashMap<String, byte[]>();
+        // Uploads are spooled to temp files by the multipart resolver and streamed from there into the message.
+        var attachmentMap = new LinkedHashMap<String, InputStreamSource>();
         if (attachments != null) {
             for (var file : attachments) {
                 if (file.getOriginalFilename() != null) {
-                    attachmentMap.put(file.getOriginalFilename(), file.getBytes());
+                    attachmentMap.put(file.getOriginalFilename(), file);
                 }
             }
         }
@@ -73,7 +101,7 @@ public class EmailController {
     }
 
     @PostMapping("/schedule")
-    public ResponseEntity<String> scheduleEmail(
+    public ResponseEntity<EmailQueuedResponse> scheduleEmail(
             @RequestParam @Email String recipient,
             @RequestParam @NotBlank @Size(max = 100) String subject,
             @RequestParam @NotBlank @Size(max = 1000) String body,
@@ -83,7 +111,9 @@ public class EmailController {
             @RequestParam(defaultValue = "false") boolean isHtml,
             @RequestParam @Future(message = "Scheduled time must be in the future") Instant sendTime) {
 
-        emailService.scheduleEmail(recipient, subject, body, cc, bcc, replyTo, isHtml, sendTime);
-        return ResponseEntity.ok("Email scheduled successfully.");
+        var messageId = emailService.scheduleEmail(recipient, subject, body, cc, bcc, replyTo, isHtml, sendTime);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/email/" + messageId))
+                .body(new EmailQueuedResponse(messageId, EmailStatus.PENDING));
     }
 }
@@ -0,0 +1,31 @@
+package com.personal.portfolio.controller;
+
+import com.personal.portfolio.service.JwtService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "Public keys for verifying issued tokens.")
+public class JwksController {
+
+    private final JwtService jwtService;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "JSON Web Key Set", description = "Public verification keys for asymmetrically signed tokens.")
+    public ResponseEntity<String> jwks() {
+        var jwkSet = jwtService.getJwkSet();
+        return ResponseEntity.ok()
+                .eTag(jwkSet.eTag())
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwkSet.json());
+    }
+}
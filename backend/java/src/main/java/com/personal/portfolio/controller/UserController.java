@@ -1,11 +1,24 @@
 package com.personal.portfolio.controller;
 
+import com.personal.portfolio.dto.user.BatchOperationResult;
 import com.personal.portfolio.dto.user.CreateUserRequest;
 import com.personal.portfolio.dto.user.UpdateUserRequest;
+import com.personal.portfolio.dto.user.UserImportResult;
 import com.personal.portfolio.dto.user.UserResponse;
+import com.personal.portfolio.dto.user.UserRevision;
+import com.personal.portfolio.dto.user.UserSelection;
+import com.personal.portfolio.dto.user.UserSummary;
 import com.personal.portfolio.dto.common.PageResponse;
+import com.personal.portfolio.dto.common.SliceResponse;
+import com.personal.portfolio.model.CountMode;
 import com.personal.portfolio.model.Role;
+import com.personal.portfolio.model.UserDataFormat;
 import com.personal.portfolio.model.User;
+import com.personal.portfolio.repository.UserFilter;
+import com.personal.portfolio.service.UserBatchService;
+import com.personal.portfolio.service.UserETags;
+import com.personal.portfolio.service.UserExportService;
+import com.personal.portfolio.service.UserImportService;
 import com.personal.portfolio.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,10 +28,18 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 
 @Validated
@@ -29,10 +50,13 @@ import java.net.URI;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final UserBatchService userBatchService;
 
     @GetMapping
     @Operation(summary = "Search users with pagination and filters")
-    public ResponseEntity<PageResponse<UserResponse>> getAllUsers(
+    public ResponseEntity<PageResponse<UserSummary>> getAllUsers(
             @RequestParam(required = false) Role role,
             @RequestParam(required = false) Boolean enabled,
             @RequestParam(required = false) Boolean locked,
@@ -40,19 +64,108 @@ public class UserController {
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
             @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        var filter = new UserFilter(role, enabled, locked, search);
+        if (ifNoneMatch != null) {
+            var eTag = userService.getUsersETag(filter, count, page, size, sortBy, direction);
+            if (UserETags.matches(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+        }
+
+        var users = userService.getUsers(filter, count, page, size, sortBy, direction);
+        return ResponseEntity.ok()
+                .eTag(UserETags.forSummaries(users))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(users);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll users with a continuation cursor", description = "Keyset pagination without a total count; pass nextCursor back as cursor to fetch the following slice.")
+    public ResponseEntity<SliceResponse<UserSummary>> scrollUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) Boolean locked,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
 
-        var users = userService.getUsers(role, enabled, locked, search, page, size, sortBy, direction)
-                .map(UserResponse::from);
-        return ResponseEntity.ok(PageResponse.from(users));
+        return ResponseEntity.ok(userService.scrollUsers(new UserFilter(role, enabled, locked, search), cursor, size, sortBy, direction));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import users", description = "Creates users from a streamed CSV (with header) or NDJSON body and reports rejected rows by line.")
+    public ResponseEntity<UserImportResult> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(body, UserDataFormat.fromMediaType(contentType)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export users", description = "Streams every user matching the filters as NDJSON or CSV, ordered by ID.")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) Boolean locked,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "NDJSON") UserDataFormat format) {
+
+        var filter = new UserFilter(role, enabled, locked, search);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(outputStream -> userExportService.export(filter, format, outputStream));
+    }
+
+    @PostMapping("/batch/lock")
+    @Operation(summary = "Lock or unlock a set of users", description = "Selects users by IDs or filters and updates them chunk by chunk.")
+    public ResponseEntity<BatchOperationResult> lockUsers(@Valid @RequestBody UserSelection selection, @RequestParam boolean locked) {
+        return ResponseEntity.ok(userBatchService.setLocked(selection, locked));
+    }
+
+    @PostMapping("/batch/role")
+    @Operation(summary = "Change the role of a set of users")
+    public ResponseEntity<BatchOperationResult> changeUsersRole(@Valid @RequestBody UserSelection selection, @RequestParam Role role) {
+        return ResponseEntity.ok(userBatchService.changeRole(selection, role));
+    }
+
+    @PostMapping("/batch/activate")
+    @Operation(summary = "Activate a set of user accounts")
+    public ResponseEntity<BatchOperationResult> activateUsers(@Valid @RequestBody UserSelection selection) {
+        return ResponseEntity.ok(userBatchService.activate(selection));
+    }
+
+    @PostMapping("/batch/delete")
+    @Operation(summary = "Delete a set of users")
+    public ResponseEntity<BatchOperationResult> deleteUsers(@Valid @RequestBody UserSelection selection) {
+        return ResponseEntity.ok(userBatchService.delete(selection));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            var eTag = userService.getUserETag(id);
+            if (eTag.isPresent() && UserETags.matches(ifNoneMatch, eTag.get())) {
+                return notModified(eTag.get());
+            }
+        }
+
         return userService.getUserById(id)
-                .map(UserResponse::from)
-                .map(ResponseEntity::ok)
+                .map(user -> ResponseEntity.ok()
+                        .eTag(UserETags.forUser(UserRevision.of(user)))
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(user))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -73,21 +186,26 @@ public class UserController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update user by ID")
-    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @Valid @RequestBody UpdateUserRequest updatedUser) {
-        var user = userService.updateUser(id, User.builder()
+    @Operation(summary = "Update user by ID", description = "Send the ETag from a previous read as If-Match to fail with 412 instead of overwriting a concurrent change.")
+    public ResponseEntity<UserResponse> updateUser(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateUserRequest updatedUser,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var user = UserResponse.from(userService.updateUser(id, User.builder()
                 .fullName(updatedUser.fullName())
                 .phoneNumber(updatedUser.phoneNumber())
                 .profilePictureUrl(updatedUser.profilePictureUrl())
                 .bio(updatedUser.bio())
-                .build());
-        return ResponseEntity.ok(UserResponse.from(user));
+                .build(), ifMatch));
+        return ResponseEntity.ok()
+                .eTag(UserETags.forUser(UserRevision.of(user)))
+                .body(user);
     }
 
     @PutMapping("/{id}/lock")
     @Operation(summary = "Toggle user lock status")
     public ResponseEntity<UserResponse> toggleLockUser(@PathVariable Long id) {
-        return ResponseEntity.ok(UserResponse.from(userService.toggleLock(id)));
+        return ResponseEntity.ok(userService.toggleLock(id));
     }
 
     @DeleteMapping("/{id}")
@@ -108,4 +226,11 @@ public class UserController {
     public ResponseEntity<UserResponse> activateUserAccount(@PathVariable Long id) {
         return ResponseEntity.ok(UserResponse.from(userService.activateUserAccount(id)));
     }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
 }
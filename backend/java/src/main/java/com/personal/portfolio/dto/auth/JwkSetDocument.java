@@ -0,0 +1,7 @@
+package com.personal.portfolio.dto.auth;
+
+public record JwkSetDocument(
+        String json,
+        String eTag
+) {
+}
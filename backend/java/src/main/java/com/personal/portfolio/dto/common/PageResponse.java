@@ -1,6 +1,7 @@
 package com.personal.portfolio.dto.common;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -8,8 +9,9 @@ public record PageResponse<T>(
         List<T> content,
         int page,
         int size,
-        long totalElements,
-        int totalPages,
+        Long totalElements,
+        Integer totalPages,
+        boolean approximateTotal,
         boolean first,
         boolean last,
         boolean empty
@@ -21,9 +23,28 @@ public record PageResponse<T>(
                 page.getSize(),
                 page.getTotalElements(),
                 page.getTotalPages(),
+                false,
                 page.isFirst(),
                 page.isLast(),
                 page.isEmpty()
         );
     }
+
+    /**
+     * Builds a page from a slice that was fetched without a count query. {@code totalElements} is {@code null} when
+     * the client opted out of counting.
+     */
+    public static <T> PageResponse<T> from(Slice<T> slice, Long totalElements, boolean approximateTotal) {
+        return new PageResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                totalElements,
+                totalElements == null ? null : (int) Math.ceilDiv(totalElements, (long) slice.getSize()),
+                approximateTotal,
+                slice.isFirst(),
+                slice.isLast(),
+                slice.isEmpty()
+        );
+    }
 }
@@ -0,0 +1,11 @@
+package com.personal.portfolio.dto.common;
+
+import java.util.List;
+
+public record SliceResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+}
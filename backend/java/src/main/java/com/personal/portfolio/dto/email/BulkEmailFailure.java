@@ -0,0 +1,7 @@
+package com.personal.portfolio.dto.email;
+
+public record BulkEmailFailure(
+        String recipient,
+        String error
+) {
+}
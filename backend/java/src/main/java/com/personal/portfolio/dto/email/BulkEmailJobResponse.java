@@ -0,0 +1,20 @@
+package com.personal.portfolio.dto.email;
+
+import java.time.Instant;
+import java.util.List;
+
+public record BulkEmailJobResponse(
+        String jobId,
+        State state,
+        int total,
+        int sent,
+        int failed,
+        List<BulkEmailFailure> failures,
+        boolean failuresTruncated,
+        Instant startedAt,
+        Instant finishedAt
+) {
+    public enum State {
+        RUNNING, COMPLETED
+    }
+}
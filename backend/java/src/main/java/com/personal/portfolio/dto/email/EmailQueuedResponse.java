@@ -0,0 +1,9 @@
+package com.personal.portfolio.dto.email;
+
+import com.personal.portfolio.model.EmailStatus;
+
+public record EmailQueuedResponse(
+        String messageId,
+        EmailStatus status
+) {
+}
@@ -0,0 +1,28 @@
+package com.personal.portfolio.dto.email;
+
+import com.personal.portfolio.model.EmailOutboxMessage;
+import com.personal.portfolio.model.EmailStatus;
+
+import java.time.Instant;
+
+public record EmailStatusResponse(
+        String messageId,
+        String recipient,
+        EmailStatus status,
+        int attempts,
+        Instant sendAt,
+        Instant sentAt,
+        String lastError
+) {
+    public static EmailStatusResponse from(EmailOutboxMessage message) {
+        return new EmailStatusResponse(
+                message.getMessageId(),
+                message.getRecipient(),
+                message.getStatus(),
+                message.getAttempts(),
+                message.getSendAt(),
+                message.getSentAt(),
+                message.getLastError()
+        );
+    }
+}
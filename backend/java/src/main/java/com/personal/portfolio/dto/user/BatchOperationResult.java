@@ -0,0 +1,7 @@
+package com.personal.portfolio.dto.user;
+
+public record BatchOperationResult(
+        long matched,
+        long affected
+) {
+}
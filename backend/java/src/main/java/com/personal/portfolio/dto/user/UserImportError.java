@@ -0,0 +1,8 @@
+package com.personal.portfolio.dto.user;
+
+public record UserImportError(
+        long line,
+        String email,
+        String message
+) {
+}
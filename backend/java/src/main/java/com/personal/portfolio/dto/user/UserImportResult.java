@@ -0,0 +1,11 @@
+package com.personal.portfolio.dto.user;
+
+import java.util.List;
+
+public record UserImportResult(
+        long imported,
+        long rejected,
+        List<UserImportError> errors,
+        boolean errorsTruncated
+) {
+}
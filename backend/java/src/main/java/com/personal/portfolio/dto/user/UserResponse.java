@@ -17,7 +17,8 @@ public record UserResponse(
         String profilePictureUrl,
         String bio,
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+        Long version
 ) {
     public static UserResponse from(User user) {
         return new UserResponse(
@@ -32,7 +33,8 @@ public record UserResponse(
                 user.getProfilePictureUrl(),
                 user.getBio(),
                 user.getCreatedAt(),
-                user.getUpdatedAt()
+                user.getUpdatedAt(),
+                user.getVersion()
         );
     }
 }
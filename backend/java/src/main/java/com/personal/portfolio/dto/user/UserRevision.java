@@ -0,0 +1,17 @@
+package com.personal.portfolio.dto.user;
+
+import java.time.Instant;
+
+/**
+ * What a single user's entity tag is built from: the optimistic-locking version, which every admin change bumps, and
+ * the last login, which is written without one.
+ */
+public record UserRevision(
+        Long id,
+        Long version,
+        Instant lastLogin
+) {
+    public static UserRevision of(UserResponse user) {
+        return new UserRevision(user.id(), user.version(), user.lastLogin());
+    }
+}
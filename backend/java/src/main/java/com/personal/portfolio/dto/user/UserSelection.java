@@ -0,0 +1,25 @@
+package com.personal.portfolio.dto.user;
+
+import com.personal.portfolio.model.Role;
+import com.personal.portfolio.repository.UserFilter;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Targets a batch operation either at explicit user IDs or at every user matching the same filters as the listing.
+ * IDs take precedence; an empty selection is rejected so that a missing body never means "all users".
+ */
+public record UserSelection(
+        @Size(max = 10000, message = "At most 10000 IDs can be selected at once")
+        List<Long> ids,
+
+        Role role,
+        Boolean enabled,
+        Boolean locked,
+        String search
+) {
+    public UserFilter filter() {
+        return new UserFilter(role, enabled, locked, search).normalized();
+    }
+}
@@ -0,0 +1,21 @@
+package com.personal.portfolio.dto.user;
+
+import com.personal.portfolio.model.Role;
+
+import java.time.Instant;
+
+/**
+ * Listing row selected straight from the covering index; profile fields are only returned by {@code GET /api/users/{id}}.
+ */
+public record UserSummary(
+        Long id,
+        String fullName,
+        String email,
+        Role role,
+        boolean enabled,
+        boolean locked,
+        Instant lastLogin,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.personal.portfolio.dto.user;
+
+import java.time.Instant;
+
+/**
+ * The columns that change whenever a listing row does, used to answer conditional list requests from the covering
+ * index without loading users.
+ */
+public record UserVersion(
+        Long id,
+        Instant updatedAt,
+        Instant lastLogin
+) {
+    public static UserVersion of(UserSummary user) {
+        return new UserVersion(user.id(), user.updatedAt(), user.lastLogin());
+    }
+}
@@ -0,0 +1,11 @@
+package com.personal.portfolio.event;
+
+public record UserChangedEvent(
+        Long userId,
+        String email,
+        ChangeType changeType
+) {
+    public enum ChangeType {
+        CREATED, UPDATED, LOCK_CHANGED, ROLE_CHANGED, ACTIVATED, PASSWORD_CHANGED, DELETED
+    }
+}
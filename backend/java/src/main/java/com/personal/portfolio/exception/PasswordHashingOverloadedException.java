@@ -0,0 +1,14 @@
+package com.personal.portfolio.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(int retryAfterSeconds) {
+        super("Too many password operations in progress. Try again shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
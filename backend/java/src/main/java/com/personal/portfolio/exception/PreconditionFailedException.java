@@ -0,0 +1,8 @@
+package com.personal.portfolio.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
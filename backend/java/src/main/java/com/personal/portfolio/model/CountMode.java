@@ -0,0 +1,13 @@
+package com.personal.portfolio.model;
+
+public enum CountMode {
+
+    /** Exact total, served from the count cache when the same filter was counted recently. */
+    EXACT,
+
+    /** Exact up to the configured cap; beyond it an estimate of at least the cap and the rows paged through so far. */
+    APPROXIMATE,
+
+    /** No total at all; clients page with {@code last}. */
+    NONE
+}
@@ -0,0 +1,79 @@
+package com.personal.portfolio.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "email_outbox",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_email_outbox_message_id", columnNames = "messageId")
+        },
+        indexes = {
+                @Index(name = "idx_email_outbox_status_send_at", columnList = "status, sendAt")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36, updatable = false)
+    private String messageId;
+
+    @Column(nullable = false, updatable = false)
+    private String recipient;
+
+    /** Comma-separated, like the headers they end up in. */
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String cc;
+
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String bcc;
+
+    @Column(updatable = false)
+    private String replyTo;
+
+    @Column(nullable = false, updatable = false)
+    private String subject;
+
+    /** Cleared once the message is {@code SENT} or {@code DEAD}, since it may carry secrets such as reset links. */
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    /** Plain-text alternative sent alongside an HTML body; {@code null} for single-part messages. */
+    @Column(columnDefinition = "TEXT")
+    private String textBody;
+
+    @Column(nullable = false, updatable = false)
+    private boolean html;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /** When the message is next due: its first send, its next retry, or the end of a worker's claim. */
+    @Column(nullable = false)
+    private Instant sendAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant sentAt;
+}
@@ -0,0 +1,11 @@
+package com.personal.portfolio.model;
+
+public enum EmailStatus {
+    /** Waiting for {@code sendAt}, either queued for the first time or backing off after a failure. */
+    PENDING,
+    /** Claimed by a worker until {@code sendAt}; a message still here after that is assumed lost and retried. */
+    SENDING,
+    SENT,
+    /** Failed on every allowed attempt and will not be retried. */
+    DEAD
+}
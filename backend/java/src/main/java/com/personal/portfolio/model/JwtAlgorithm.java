@@ -0,0 +1,17 @@
+package com.personal.portfolio.model;
+
+import lombok.Getter;
+
+@Getter
+public enum JwtAlgorithm {
+
+    HS512("HS512", false), ES256("ES256", true), ED25519("EdDSA", true);
+
+    private final String jwaName;
+    private final boolean asymmetric;
+
+    JwtAlgorithm(String jwaName, boolean asymmetric) {
+        this.jwaName = jwaName;
+        this.asymmetric = asymmetric;
+    }
+}
@@ -39,9 +39,18 @@ public class JwtKey {
     @Column(nullable = false, length = 50, updatable = false)
     private String keyId = UUID.randomUUID().toString();
 
+    @ToString.Include
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10, updatable = false)
+    private JwtAlgorithm algorithm = JwtAlgorithm.HS512;
+
     @Column(nullable = false, columnDefinition = "TEXT")
     private String secretKey;
 
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String publicKey;
+
     @ToString.Include
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
@@ -0,0 +1,34 @@
+package com.personal.portfolio.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * The last user ID a chunked maintenance job has finished, so an interrupted pass resumes where it stopped.
+ */
+@Entity
+@Table(name = "maintenance_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class MaintenanceCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private long lastId;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public MaintenanceCheckpoint(String jobName, long lastId) {
+        this(jobName, lastId, null);
+    }
+}
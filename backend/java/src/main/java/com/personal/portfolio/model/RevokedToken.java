@@ -0,0 +1,39 @@
+package com.personal.portfolio.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "revoked_tokens",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_revoked_token_jti", columnNames = "jti")
+        },
+        indexes = {
+                @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36, updatable = false)
+    private String jti;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant revokedAt;
+
+    @Column(nullable = false, updatable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,29 @@
+package com.personal.portfolio.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "token_epochs",
+        indexes = {
+                @Index(name = "idx_token_epoch_issued_before", columnList = "tokensIssuedBefore")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenEpoch {
+
+    @Id
+    @Column(nullable = false)
+    private String email;
+
+    /** Tokens for {@link #email} issued before this instant are rejected. */
+    @Column(nullable = false)
+    private Instant tokensIssuedBefore;
+}
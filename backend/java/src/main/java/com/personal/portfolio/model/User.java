@@ -17,16 +17,24 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 
 @Entity
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(name = "uc_user_email", columnNames = "email")
 }, indexes = {
         @Index(name = "idx_user_email", columnList = "email"),
-        @Index(name = "idx_user_enabled", columnList = "enabled")
+        @Index(name = "idx_user_enabled", columnList = "enabled"),
+        @Index(name = "idx_user_listing_covering", columnList = "created_at, id, role, enabled, locked, last_login, updated_at, full_name, email"),
+        @Index(name = "idx_user_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_user_full_name_id", columnList = "full_name, id"),
+        @Index(name = "idx_user_last_login_id", columnList = "last_login, id")
 })
 @Getter
 @Setter
@@ -35,8 +43,12 @@ import java.util.Objects;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class User implements UserDetails {
 
+    private static final java.util.regex.Pattern TERM_SEPARATOR = java.util.regex.Pattern.compile("[^\\p{L}\\p{N}]+");
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -98,6 +110,49 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "user_search_terms", joinColumns = @JoinColumn(name = "user_id"))
+    @Column(name = "term", nullable = false)
+    private Set<String> searchTerms = new HashSet<>();
+
+    /**
+     * Lower-cased terms a user can be found by with a prefix search: the full name, each word of it, the email and
+     * each part of the email. Matching on {@code term LIKE 'prefix%'} uses the term index instead of scanning users.
+     */
+    public static Set<String> searchTermsFor(String fullName, String email) {
+        var terms = new HashSet<String>();
+        for (var value : new String[]{fullName, email}) {
+            if (value == null || value.isBlank()) continue;
+            var normalized = value.trim().toLowerCase(Locale.ROOT);
+            terms.add(normalized);
+            Arrays.stream(TERM_SEPARATOR.split(normalized))
+                    .filter(term -> !term.isEmpty())
+                    .forEach(terms::add);
+        }
+        return terms;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+        refreshSearchTerms();
+    }
+
+    @PrePersist
+    void refreshSearchTerms() {
+        var terms = searchTermsFor(fullName, email);
+        if (!searchTerms.equals(terms)) {
+            searchTerms.retainAll(terms);
+            searchTerms.addAll(terms);
+        }
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -0,0 +1,27 @@
+package com.personal.portfolio.model;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum UserDataFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"), CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    UserDataFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static UserDataFormat fromMediaType(MediaType contentType) {
+        for (var format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+}
@@ -0,0 +1,73 @@
+package com.personal.portfolio.model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+public record UserPrincipal(
+        Long id,
+        String username,
+        String password,
+        Role role,
+        List<GrantedAuthority> authorities,
+        boolean enabled,
+        boolean accountNonLocked,
+        boolean accountNonExpired,
+        boolean credentialsNonExpired
+) implements UserDetails {
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getRole(),
+                List.copyOf(user.getAuthorities()),
+                user.isEnabled(),
+                user.isAccountNonLocked(),
+                user.isAccountNonExpired(),
+                user.isCredentialsNonExpired()
+        );
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return accountNonExpired;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=%d, username=%s, role=%s]".formatted(id, username, role);
+    }
+}
@@ -0,0 +1,103 @@
+package com.personal.portfolio.repository;
+
+import com.personal.portfolio.model.EmailOutboxMessage;
+import com.personal.portfolio.model.EmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    Optional<EmailOutboxMessage> findByMessageId(String messageId);
+
+    /**
+     * Locks up to {@code limit} due messages with {@code FOR UPDATE SKIP LOCKED}. Rows locked by another node's poll are
+     * skipped rather than waited on, so concurrent pollers each get a disjoint batch. Must run in a transaction that
+     * also {@linkplain #claimAll claims} the result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.status = :status AND m.sendAt <= :now ORDER BY m.sendAt")
+    List<EmailOutboxMessage> lockDue(EmailStatus status, Instant now, Limit limit);
+
+    /**
+     * Moves locked messages to {@code SENDING} until {@code leaseUntil}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.personal.portfolio.model.EmailStatus.SENDING, m.sendAt = :leaseUntil, m.attempts = m.attempts + 1
+            WHERE m.id IN :ids
+            """)
+    int claimAll(Collection<Long> ids, Instant leaseUntil);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.personal.portfolio.model.EmailStatus.PENDING
+            WHERE m.status = com.personal.portfolio.model.EmailStatus.SENDING AND m.sendAt <= :now
+            """)
+    int releaseExpiredClaims(Instant now);
+
+    /**
+     * Records the outcome of a send, but only while the row is still held by the claim that made {@code attempt}. A
+     * worker that outlived its lease finds the row released or claimed again with a higher attempt count and changes
+     * nothing.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.personal.portfolio.model.EmailStatus.SENT, m.sentAt = :now, m.lastError = NULL,
+                m.body = NULL, m.textBody = NULL
+            WHERE m.id = :id AND m.status = com.personal.portfolio.model.EmailStatus.SENDING AND m.attempts = :attempt
+            """)
+    int markSent(Long id, int attempt, Instant now);
+
+    /**
+     * Returns a failed message to {@code PENDING} until {@code retryAt}. Same guard as {@link #markSent}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.personal.portfolio.model.EmailStatus.PENDING, m.sendAt = :retryAt, m.lastError = :lastError
+            WHERE m.id = :id AND m.status = com.personal.portfolio.model.EmailStatus.SENDING AND m.attempts = :attempt
+            """)
+    int markRetry(Long id, int attempt, Instant retryAt, String lastError);
+
+    /**
+     * Gives up on a message. Like {@link #markSent}, it drops the content, keeping only the envelope and the error.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.personal.portfolio.model.EmailStatus.DEAD, m.lastError = :lastError,
+                m.body = NULL, m.textBody = NULL
+            WHERE m.id = :id AND m.status = com.personal.portfolio.model.EmailStatus.SENDING AND m.attempts = :attempt
+            """)
+    int markDead(Long id, int attempt, String lastError);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            DELETE FROM EmailOutboxMessage m
+            WHERE m.status IN (com.personal.portfolio.model.EmailStatus.SENT, com.personal.portfolio.model.EmailStatus.DEAD)
+              AND m.createdAt < :threshold
+            """)
+    int deleteFinishedBefore(Instant threshold);
+}
@@ -0,0 +1,7 @@
+package com.personal.portfolio.repository;
+
+import com.personal.portfolio.model.MaintenanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MaintenanceCheckpointRepository extends JpaRepository<MaintenanceCheckpoint, String> {
+}
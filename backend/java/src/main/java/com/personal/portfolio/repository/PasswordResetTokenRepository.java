@@ -3,8 +3,11 @@ package com.personal.portfolio.repository;
 import com.personal.portfolio.model.PasswordResetToken;
 import com.personal.portfolio.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
@@ -14,4 +17,8 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     void deleteAllByUser(User user);
 
     void deleteAllByExpiresAtBefore(Instant threshold);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM PasswordResetToken t WHERE t.user.id IN :userIds")
+    int deleteAllByUserIdIn(Collection<Long> userIds);
 }
@@ -0,0 +1,32 @@
+package com.personal.portfolio.repository;
+
+import com.personal.portfolio.model.TokenEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenEpochRepository extends JpaRepository<TokenEpoch, String> {
+
+    List<TokenEpoch> findByTokensIssuedBeforeAfter(Instant threshold);
+
+    /**
+     * Inserts the epoch or moves an existing one forward; an epoch never moves back. Runs inside the transaction that
+     * changed the user, so it leaves that transaction's persistence context alone.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO token_epochs (email, tokens_issued_before) VALUES (:email, :epoch)
+            ON DUPLICATE KEY UPDATE tokens_issued_before = GREATEST(tokens_issued_before, VALUES(tokens_issued_before))
+            """, nativeQuery = true)
+    int advance(String email, Instant epoch);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM TokenEpoch e WHERE e.tokensIssuedBefore < :threshold")
+    int deleteElapsed(Instant threshold);
+}
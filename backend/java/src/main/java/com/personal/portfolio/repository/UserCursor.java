@@ -0,0 +1,48 @@
+package com.personal.portfolio.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position of the last row returned by a keyset query: the sort field and direction it was read with, that row's value
+ * for the field and its id as tiebreaker. Exposed to clients only as an opaque base64url token.
+ */
+public record UserCursor(
+        String sortField,
+        Sort.Direction direction,
+        Comparable<?> value,
+        long id
+) {
+    private static final Set<String> STRING_FIELDS = Set.of("fullName", "email");
+    private static final String NULL_VALUE = "~";
+    private static final String VALUE_PREFIX = "=";
+
+    public String encode() {
+        var encodedValue = value == null ? NULL_VALUE : VALUE_PREFIX + value;
+        var raw = sortField + ":" + direction.name() + ":" + id + ":" + encodedValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+
+            var sortField = parts[0];
+            var value = parts[3].equals(NULL_VALUE) ? null : parts[3].substring(VALUE_PREFIX.length());
+            return new UserCursor(
+                    sortField,
+                    Sort.Direction.valueOf(parts[1]),
+                    value == null || STRING_FIELDS.contains(sortField) ? value : Instant.parse(value),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.personal.portfolio.repository;
+
+import com.personal.portfolio.model.Role;
+
+import java.util.Locale;
+
+public record UserFilter(
+        Role role,
+        Boolean enabled,
+        Boolean locked,
+        String search
+) {
+    /** Blank searches mean no search; others are trimmed and lower-cased to match the stored search terms. */
+    public UserFilter normalized() {
+        var normalizedSearch = search == null || search.isBlank() ? null : search.trim().toLowerCase(Locale.ROOT);
+        return new UserFilter(role, enabled, locked, normalizedSearch);
+    }
+}
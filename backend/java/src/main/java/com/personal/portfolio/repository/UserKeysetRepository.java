@@ -0,0 +1,11 @@
+package com.personal.portfolio.repository;
+
+import com.personal.portfolio.dto.user.UserSummary;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface UserKeysetRepository {
+
+    List<UserSummary> findNextByFilters(UserFilter filter, String sortField, Sort.Direction direction, UserCursor after, int limit);
+}
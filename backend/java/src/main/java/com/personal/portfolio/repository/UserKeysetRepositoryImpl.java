@@ -0,0 +1,103 @@
+package com.personal.portfolio.repository;
+
+import com.personal.portfolio.dto.user.UserSummary;
+import com.personal.portfolio.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seek-method pagination over {@code (sortField, id)}. Each page starts strictly after the cursor using the composite
+ * indexes, so the cost of a page does not grow with its depth and no count query is issued.
+ * <p>
+ * NULLs (only {@code lastLogin} can be NULL) sort low on MySQL, so they come first when ascending and last when
+ * descending; the seek predicates below follow the same order.
+ */
+class UserKeysetRepositoryImpl implements UserKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSummary> findNextByFilters(UserFilter filter, String sortField, Sort.Direction direction, UserCursor after, int limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(UserSummary.class);
+        var user = query.from(User.class);
+        Path<Comparable<Object>> field = user.get(sortField);
+        Path<Long> id = user.get("id");
+
+        var predicates = filterPredicates(cb, query, user, filter);
+        if (after != null) {
+            predicates.add(direction.isAscending()
+                    ? seekAscending(cb, field, id, after)
+                    : seekDescending(cb, field, id, after));
+        }
+
+        query.select(cb.construct(UserSummary.class,
+                        user.get("id"), user.get("fullName"), user.get("email"), user.get("role"), user.get("enabled"),
+                        user.get("locked"), user.get("lastLogin"), user.get("createdAt"), user.get("updatedAt")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(direction.isAscending()
+                        ? List.of(cb.asc(field), cb.asc(id))
+                        : List.of(cb.desc(field), cb.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Predicate> filterPredicates(CriteriaBuilder cb, CriteriaQuery<?> query, Root<User> user, UserFilter filter) {
+        var predicates = new ArrayList<Predicate>();
+        if (filter.role() != null) {
+            predicates.add(cb.equal(user.get("role"), filter.role()));
+        }
+        if (filter.enabled() != null) {
+            predicates.add(cb.equal(user.get("enabled"), filter.enabled()));
+        }
+        if (filter.locked() != null) {
+            predicates.add(cb.equal(user.get("locked"), filter.locked()));
+        }
+        if (filter.search() != null) {
+            var subquery = query.subquery(Long.class);
+            var matched = subquery.from(User.class);
+            Join<User, String> term = matched.join("searchTerms");
+            subquery.select(matched.get("id")).where(cb.like(term, filter.search() + "%"));
+            predicates.add(user.get("id").in(subquery));
+        }
+        return predicates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate seekAscending(CriteriaBuilder cb, Path<Comparable<Object>> field, Path<Long> id, UserCursor after) {
+        if (after.value() == null) {
+            return cb.or(
+                    cb.and(cb.isNull(field), cb.greaterThan(id, after.id())),
+                    cb.isNotNull(field));
+        }
+        var value = (Comparable<Object>) after.value();
+        return cb.or(
+                cb.greaterThan(field, value),
+                cb.and(cb.equal(field, value), cb.greaterThan(id, after.id())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate seekDescending(CriteriaBuilder cb, Path<Comparable<Object>> field, Path<Long> id, UserCursor after) {
+        if (after.value() == null) {
+            return cb.and(cb.isNull(field), cb.lessThan(id, after.id()));
+        }
+        var value = (Comparable<Object>) after.value();
+        return cb.or(
+                cb.lessThan(field, value),
+                cb.and(cb.equal(field, value), cb.lessThan(id, after.id())),
+                cb.isNull(field));
+    }
+}
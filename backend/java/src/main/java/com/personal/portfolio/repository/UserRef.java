@@ -0,0 +1,7 @@
+package com.personal.portfolio.repository;
+
+public record UserRef(
+        Long id,
+        String email
+) {
+}
@@ -1,75 +1,207 @@
 package com.personal.portfolio.repository;
 
+import com.personal.portfolio.dto.user.UserResponse;
+import com.personal.portfolio.dto.user.UserRevision;
+import com.personal.portfolio.dto.user.UserSummary;
+import com.personal.portfolio.dto.user.UserVersion;
 import com.personal.portfolio.model.Role;
 import com.personal.portfolio.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserKeysetRepository {
 
-    Optional<User> findByEmail(String email);
-
-    boolean existsByEmail(String email);
-
-    List<User> findByRole(Role role);
-
-    Page<User> findByRole(Role role, Pageable pageable);
+    String SELECT_SUMMARY = """
+            SELECT new com.personal.portfolio.dto.user.UserSummary(
+                u.id, u.fullName, u.email, u.role, u.enabled, u.locked, u.lastLogin, u.createdAt, u.updatedAt)
+            FROM User u
+            """;
 
-    @Query("""
-            SELECT u
+    String SELECT_VERSION = """
+            SELECT new com.personal.portfolio.dto.user.UserVersion(u.id, u.updatedAt, u.lastLogin)
             FROM User u
+            """;
+
+    String FILTERS = """
             WHERE (:role IS NULL OR u.role = :role)
               AND (:enabled IS NULL OR u.enabled = :enabled)
               AND (:locked IS NULL OR u.locked = :locked)
               AND (
                     :search IS NULL
-                    OR LOWER(u.fullName) LIKE LOWER(CONCAT('%', :search, '%'))
-                    OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))
+                    OR u.id IN (SELECT s.id FROM User s JOIN s.searchTerms t WHERE t LIKE CONCAT(:search, '%'))
               )
+            """;
+
+    String RELEVANCE_ORDER = """
+            ORDER BY CASE
+                       WHEN LOWER(u.fullName) LIKE CONCAT(:search, '%') OR LOWER(u.email) LIKE CONCAT(:search, '%') THEN 0
+                       ELSE 1
+                     END,
+                     u.fullName,
+                     u.id
+            """;
+
+    /** Users who never logged in count from their creation, so fresh accounts are not treated as inactive. */
+    String INACTIVE = "COALESCE(u.lastLogin, u.createdAt) < :threshold";
+
+    Optional<User> findByEmail(String email);
+
+    @Query("""
+            SELECT new com.personal.portfolio.dto.user.UserResponse(
+                u.id, u.fullName, u.email, u.role, u.phoneNumber, u.enabled, u.locked, u.lastLogin,
+                u.profilePictureUrl, u.bio, u.createdAt, u.updatedAt, u.version)
+            FROM User u
+            WHERE u.id = :id
             """)
-    Page<User> findAllByFilters(
+    Optional<UserResponse> findResponseById(Long id);
+
+    @Query("SELECT new com.personal.portfolio.dto.user.UserRevision(u.id, u.version, u.lastLogin) FROM User u WHERE u.id = :id")
+    Optional<UserRevision> findRevisionById(Long id);
+
+    boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    List<User> findByRole(Role role);
+
+    Page<User> findByRole(Role role, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + FILTERS)
+    Slice<UserSummary> findAllByFilters(
+            @Param("role") Role role,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("search") String search,
+            Pageable pageable);
+
+    @Query(SELECT_SUMMARY + FILTERS + RELEVANCE_ORDER)
+    Slice<UserSummary> searchByRelevance(
+            @Param("role") Role role,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("search") String search,
+            Pageable pageable);
+
+    @Query(SELECT_VERSION + FILTERS)
+    Slice<UserVersion> findVersionsByFilters(
             @Param("role") Role role,
             @Param("enabled") Boolean enabled,
             @Param("locked") Boolean locked,
             @Param("search") String search,
             Pageable pageable);
 
-    @Query("SELECT u FROM User u WHERE u.lastLogin IS NULL OR u.lastLogin < :threshold")
-    List<User> findInactiveUsers(Instant threshold);
+    @Query(SELECT_VERSION + FILTERS + RELEVANCE_ORDER)
+    Slice<UserVersion> searchVersionsByRelevance(
+            @Param("role") Role role,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("search") String search,
+            Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_SUMMARY + FILTERS + " ORDER BY u.id")
+    Stream<UserSummary> streamAllByFilters(
+            @Param("role") Role role,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("search") String search);
+
+    @Query("SELECT COUNT(u) FROM User u " + FILTERS)
+    long countByFilters(
+            @Param("role") Role role,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("search") String search);
+
+    @Query("SELECT u.id FROM User u " + FILTERS)
+    List<Long> findIdsByFilters(
+            @Param("role") Role role,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("search") String search,
+            Limit limit);
+
+    @Query("SELECT new com.personal.portfolio.repository.UserRef(u.id, u.email) FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<UserRef> findRefsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.personal.portfolio.repository.UserRef(u.id, u.email) FROM User u " + FILTERS + " AND u.id > :afterId ORDER BY u.id")
+    List<UserRef> findRefsByFilters(
+            @Param("role") Role role,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("search") String search,
+            @Param("afterId") long afterId,
+            Limit limit);
+
+    @Query("SELECT new com.personal.portfolio.repository.UserRef(u.id, u.email) FROM User u WHERE u.id > :afterId AND u.locked = false AND " + INACTIVE + " ORDER BY u.id")
+    List<UserRef> findInactiveUnlockedAfter(long afterId, Instant threshold, Limit limit);
+
+    @Query("SELECT new com.personal.portfolio.repository.UserRef(u.id, u.email) FROM User u WHERE u.id > :afterId AND " + INACTIVE + " ORDER BY u.id")
+    List<UserRef> findInactiveAfter(long afterId, Instant threshold, Limit limit);
 
     List<User> findByLockedTrue();
 
     @Transactional
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE User u SET u.locked = :locked WHERE u.id = :id")
+    @Query("UPDATE User u SET u.locked = :locked, u.version = u.version + 1 WHERE u.id = :id")
     void updateLockStatus(Long id, boolean locked);
 
     @Transactional
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE User u SET u.lastLogin = :lastLogin WHERE u.id = :userId")
-    void updateLastLogin(Long userId, Instant lastLogin);
+    @Query("""
+            UPDATE User u
+            SET u.locked = CASE WHEN u.locked = true THEN false ELSE true END, u.updatedAt = :now, u.version = u.version + 1
+            WHERE u.id = :id
+            """)
+    int toggleLock(Long id, Instant now);
 
-    @Transactional
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE User u SET u.locked = true WHERE u.lastLogin IS NULL OR u.lastLogin < :threshold")
-    void lockInactiveUsers(Instant threshold);
+    @Query("UPDATE User u SET u.locked = true, u.updatedAt = :now, u.version = u.version + 1 WHERE u.id IN :ids AND u.locked = false AND " + INACTIVE)
+    int lockInactiveByIdIn(Collection<Long> ids, Instant threshold, Instant now);
 
-    @Transactional
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("DELETE FROM User u WHERE u.lastLogin IS NULL OR u.lastLogin < :threshold")
-    void deleteInactiveUsers(Instant threshold);
+    @Query("DELETE FROM User u WHERE u.id IN :ids AND " + INACTIVE)
+    int deleteInactiveByIdIn(Collection<Long> ids, Instant threshold);
 
     @Transactional
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE User u SET u.role = :newRole WHERE u.id = :userId")
+    @Query("UPDATE User u SET u.role = :newRole, u.version = u.version + 1 WHERE u.id = :userId")
     void updateUserRole(Long userId, Role newRole);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE User u SET u.locked = :locked, u.updatedAt = :now, u.version = u.version + 1 WHERE u.id IN :ids AND u.locked <> :locked")
+    int updateLockStatusByIdIn(Collection<Long> ids, boolean locked, Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE User u SET u.role = :role, u.updatedAt = :now, u.version = u.version + 1 WHERE u.id IN :ids AND u.role <> :role")
+    int updateRoleByIdIn(Collection<Long> ids, Role role, Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE User u SET u.enabled = true, u.updatedAt = :now, u.version = u.version + 1 WHERE u.id IN :ids AND u.enabled = false")
+    int activateByIdIn(Collection<Long> ids, Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
@@ -25,8 +25,8 @@ public class AuthenticationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
+    private final LastLoginBuffer lastLoginBuffer;
 
-    @Transactional
     public User authenticate(LoginUserRequest input) {
         log.info("Attempting authentication for email: {}", input.email());
 
@@ -37,9 +37,10 @@ public class AuthenticationService {
         var user = userRepository.findByEmail(input.email())
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + input.email() + " does not exist."));
         user.setLastLogin(Instant.now());
+        lastLoginBuffer.record(user.getId(), user.getLastLogin());
 
         log.info("Authentication passed manager checks for email: {}", input.email());
-        return userRepository.save(user);
+        return user;
     }
 
     @Transactional
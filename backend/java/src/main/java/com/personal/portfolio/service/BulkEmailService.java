@@ -0,0 +1,266 @@
+package com.personal.portfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.portfolio.dto.email.BulkEmailFailure;
+import com.personal.portfolio.dto.email.BulkEmailJobResponse;
+import com.personal.portfolio.dto.email.BulkEmailJobResponse.State;
+import com.personal.portfolio.service.EmailTemplates.PreparedEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends one message to many recipients in the background. Each job fans its recipients out over a few workers; each
+ * worker holds one authenticated SMTP connection and sends many messages over it, reconnecting when the server drops
+ * it or after {@code messages-per-connection}. A token bucket shared by all jobs keeps the overall rate within the
+ * provider's quota, and a semaphore caps open connections. The {@code bulk} template is rendered once per job and
+ * only the recipient's address is merged into each copy. Progress and per-recipient failures stay in memory for
+ * {@code job-retention}.
+ */
+@Slf4j
+@Service
+public class BulkEmailService {
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private static final String TEMPLATE = "bulk";
+
+    private final JavaMailSender javaMailSender;
+    private final EmailTemplates emailTemplates;
+    private final TokenBucket rateLimit;
+    private final Semaphore connections;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Cache<String, Job> jobs;
+    private final Counter sent;
+    private final Counter failed;
+
+    @Value("${app.email.bulk.workers-per-job:4}")
+    private int workersPerJob;
+
+    @Value("${app.email.bulk.messages-per-connection:500}")
+    private int messagesPerConnection;
+
+    public BulkEmailService(
+            JavaMailSender javaMailSender,
+            EmailTemplates emailTemplates,
+            MeterRegistry meterRegistry,
+            @Value("${app.email.bulk.rate-per-second:10}") double ratePerSecond,
+            @Value("${app.email.bulk.burst:20}") int burst,
+            @Value("${app.email.bulk.max-connections:8}") int maxConnections,
+            @Value("${app.email.bulk.job-retention:86400000}") long jobRetention) {
+        this.javaMailSender = javaMailSender;
+        this.emailTemplates = emailTemplates;
+        this.rateLimit = new TokenBucket(ratePerSecond, burst);
+        this.connections = new Semaphore(maxConnections);
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jobRetention))
+                .build();
+        this.sent = Counter.builder("email.bulk.messages").tag("outcome", "sent").register(meterRegistry);
+        this.failed = Counter.builder("email.bulk.messages").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    public BulkEmailJobResponse start(List<String> recipients, String subject, String body) {
+        var distinct = recipients.stream().map(String::trim).distinct().toList();
+        var content = emailTemplates.prepare(TEMPLATE, Map.of("subject", subject, "body", body), Set.of("recipient"));
+        var job = new Job(UUID.randomUUID().toString(), distinct.size(), subject, content);
+        job.pending.addAll(distinct);
+        jobs.put(job.id, job);
+
+        executor.execute(() -> run(job));
+        log.info("Started bulk email job {} for {} recipients", job.id, job.total);
+        return job.toResponse();
+    }
+
+    public Optional<BulkEmailJobResponse> findJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(Job::toResponse);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        var workers = Math.max(1, Math.min(workersPerJob, job.total));
+        var futures = new ArrayList<Future<?>>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    work(job);
+                    return null;
+                }));
+            }
+            // Every worker must have stopped before the job is finalized, even if one of them failed.
+            for (var future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.error("Bulk email job {} worker failed", job.id, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+        } finally {
+            job.pending.forEach(recipient -> job.fail(recipient, "Not sent: job was interrupted."));
+            job.pending.clear();
+            job.finishedAt = Instant.now();
+            log.info("Bulk email job {} finished: {} sent, {} failed", job.id, job.sent.get(), job.failed.get());
+        }
+    }
+
+    /**
+     * Takes recipients off the job's queue until it is empty, sending over one connection at a time.
+     */
+    private void work(Job job) throws InterruptedException {
+        connections.acquire();
+        var connection = new Connection();
+        try {
+            String recipient;
+            while ((recipient = job.pending.poll()) != null) {
+                rateLimit.acquire();
+                try {
+                    connection.send(compose(job, recipient));
+                    job.sent.incrementAndGet();
+                    sent.increment();
+                } catch (Exception e) {
+                    job.fail(recipient, e.getMessage() == null ? e.getClass().getName() : e.getMessage());
+                    failed.increment();
+                }
+            }
+        } finally {
+            connection.close();
+            connections.release();
+        }
+    }
+
+    private MimeMessage compose(Job job, String recipient) throws MessagingException {
+        var message = javaMailSender.createMimeMessage();
+        var content = job.content.merge(Map.of("recipient", recipient));
+        var helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo(recipient);
+        helper.setSubject(job.subject);
+        helper.setText(content.text(), content.html());
+        message.saveChanges();
+        return message;
+    }
+
+    /**
+     * One worker's SMTP session. With a {@link JavaMailSenderImpl} it keeps an authenticated {@link Transport} open
+     * across messages; with any other sender it falls back to that sender, one message at a time.
+     */
+    private final class Connection {
+
+        private Transport transport;
+        private int sentOnTransport;
+
+        void send(MimeMessage message) throws MessagingException {
+            if (!(javaMailSender instanceof JavaMailSenderImpl sender)) {
+                javaMailSender.send(message);
+                return;
+            }
+
+            try {
+                transport(sender).sendMessage(message, message.getAllRecipients());
+            } catch (MessagingException e) {
+                if (transport != null && transport.isConnected()) throw e;
+                // The server dropped the connection; reconnect once and retry this message.
+                close();
+                transport(sender).sendMessage(message, message.getAllRecipients());
+            }
+            if (++sentOnTransport >= messagesPerConnection) {
+                close();
+            }
+        }
+
+        private Transport transport(JavaMailSenderImpl sender) throws MessagingException {
+            if (transport == null || !transport.isConnected()) {
+                close();
+                transport = sender.getSession().getTransport(sender.getProtocol());
+                transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+                sentOnTransport = 0;
+            }
+            return transport;
+        }
+
+        void close() {
+            if (transport == null) return;
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP transport: {}", e.getMessage());
+            }
+            transport = null;
+        }
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final int total;
+        private final String subject;
+        private final PreparedEmail content;
+        private final Instant startedAt = Instant.now();
+        private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Queue<BulkEmailFailure> failures = new ConcurrentLinkedQueue<>();
+        private volatile Instant finishedAt;
+
+        Job(String id, int total, String subject, PreparedEmail content) {
+            this.id = id;
+            this.total = total;
+            this.subject = subject;
+            this.content = content;
+        }
+
+        void fail(String recipient, String error) {
+            if (failed.incrementAndGet() <= MAX_REPORTED_FAILURES) {
+                failures.add(new BulkEmailFailure(recipient, error));
+            }
+        }
+
+        BulkEmailJobResponse toResponse() {
+            var failedCount = failed.get();
+            var finished = finishedAt;
+            return new BulkEmailJobResponse(
+                    id,
+                    finished == null ? State.RUNNING : State.COMPLETED,
+                    total,
+                    sent.get(),
+                    failedCount,
+                    List.copyOf(failures),
+                    failedCount > MAX_REPORTED_FAILURES,
+                    startedAt,
+                    finished
+            );
+        }
+    }
+}
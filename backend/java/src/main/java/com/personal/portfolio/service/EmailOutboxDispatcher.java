@@ -0,0 +1,194 @@
+package com.personal.portfolio.service;
+
+import com.personal.portfolio.model.EmailOutboxMessage;
+import com.personal.portfolio.model.EmailStatus;
+import com.personal.portfolio.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the email outbox, including messages scheduled for later, which wait in the table until their
+ * {@code send_at}. Each poll claims at most as many due messages as there are free workers, locking them with
+ * {@code SKIP LOCKED} so several nodes can poll the same table without sending anything twice, and hands each to a
+ * virtual thread. Failed sends are retried with jittered exponential backoff and moved to {@link EmailStatus#DEAD}
+ * after {@code max-attempts}. Claims expire after {@code lease}, so messages held by a node that died mid-send are
+ * picked up again. Sent and dead messages lose their content straight away and their row after {@code retention}.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+
+    @Value("${app.email.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.lease:300000}")
+    private long leaseMillis;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.initial-backoff:30000}")
+    private long initialBackoffMillis;
+
+    @Value("${app.email.outbox.max-backoff:3600000}")
+    private long maxBackoffMillis;
+
+    @Value("${app.email.outbox.retention:604800000}")
+    private long retentionMillis;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.email.outbox.workers:16}") int workers) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inFlight = new Semaphore(workers);
+        this.sent = outcome("sent", meterRegistry);
+        this.retried = outcome("retried", meterRegistry);
+        this.dead = outcome("dead", meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:1000}")
+    public void poll() {
+        var now = Instant.now();
+        var released = emailOutboxRepository.releaseExpiredClaims(now);
+        if (released > 0) {
+            log.warn("Released {} outbox messages whose claim expired before they were sent.", released);
+        }
+
+        var capacity = Math.min(batchSize, inFlight.availablePermits());
+        if (capacity == 0) return;
+
+        // Only this poller takes permits, so the ones counted above are still free.
+        for (var message : claimDue(now, capacity)) {
+            inFlight.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    dispatch(message);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Deletes sent and dead-lettered messages once they are older than {@code retention}.
+     */
+    @Scheduled(cron = "${app.email.outbox.purge-cron:0 15 * * * *}")
+    public void purgeFinished() {
+        var purged = emailOutboxRepository.deleteFinishedBefore(Instant.now().minusMillis(retentionMillis));
+        if (purged > 0) {
+            log.info("Purged {} finished outbox messages.", purged);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Outbox workers still sending at shutdown; their messages are retried once the claim expires.");
+        }
+    }
+
+    /**
+     * Locks and claims one batch in a single short transaction. The returned messages are detached and carry their
+     * attempt count from before the claim.
+     */
+    private List<EmailOutboxMessage> claimDue(Instant now, int limit) {
+        return transactionTemplate.execute(status -> {
+            var messages = emailOutboxRepository.lockDue(EmailStatus.PENDING, now, Limit.of(limit));
+            if (!messages.isEmpty()) {
+                emailOutboxRepository.claimAll(messages.stream().map(EmailOutboxMessage::getId).toList(), now.plusMillis(leaseMillis));
+            }
+            return messages;
+        });
+    }
+
+    private void dispatch(EmailOutboxMessage message) {
+        var attempt = message.getAttempts() + 1;
+        if (attempt > maxAttempts) {
+            if (emailOutboxRepository.markDead(message.getId(), attempt, "Claim expired on the final attempt.") > 0) {
+                dead.increment();
+            }
+            return;
+        }
+
+        try {
+            emailService.deliver(message);
+            if (emailOutboxRepository.markSent(message.getId(), attempt, Instant.now()) == 0) {
+                log.warn("Email {} was sent after its claim expired; another worker may send it again.", message.getMessageId());
+                return;
+            }
+            sent.increment();
+        } catch (Exception e) {
+            fail(message, attempt, e);
+        }
+    }
+
+    private void fail(EmailOutboxMessage message, int attempt, Exception cause) {
+        var error = cause.getMessage() == null ? cause.getClass().getName() : cause.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (attempt >= maxAttempts) {
+            if (emailOutboxRepository.markDead(message.getId(), attempt, error) == 0) return;
+            dead.increment();
+            log.error("Email {} to {} failed after {} attempts, giving up: {}", message.getMessageId(), message.getRecipient(), attempt, error);
+            return;
+        }
+
+        var retryAt = Instant.now().plus(backoff(attempt));
+        if (emailOutboxRepository.markRetry(message.getId(), attempt, retryAt, error) == 0) return;
+        retried.increment();
+        log.warn("Email {} to {} failed on attempt {}, retrying at {}: {}", message.getMessageId(), message.getRecipient(), attempt, retryAt, error);
+    }
+
+    /**
+     * Doubles per attempt up to {@code max-backoff}, then spreads retries over the upper half of that delay so messages
+     * that failed together during an outage do not all retry in the same instant.
+     */
+    private Duration backoff(int attempts) {
+        var exponential = initialBackoffMillis << Math.min(attempts - 1, 20);
+        var capped = Math.min(exponential, maxBackoffMillis);
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private static Counter outcome(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("email.outbox.deliveries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,19 +1,21 @@
 package com.personal.portfolio.service;
 
+import com.personal.portfolio.model.EmailOutboxMessage;
+import com.personal.portfolio.model.EmailStatus;
+import com.personal.portfolio.repository.EmailOutboxRepository;
 import jakarta.mail.MessagingException;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.security.SecureRandom;
@@ -21,6 +23,8 @@ import java.time.Instant;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -31,12 +35,18 @@ public class EmailService {
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     private final JavaMailSender javaMailSender;
-    private final TaskScheduler taskScheduler;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailTemplates emailTemplates;
 
     @Value("${app.base-url:http://localhost:8080}")
     private String appBaseUrl;
 
-    public void sendEmail(
+    /**
+     * Queues a message in the outbox and returns its message ID. The row is written in the caller's transaction, if
+     * any, so a rolled-back request never sends mail; delivery happens later on {@link EmailOutboxDispatcher} workers.
+     */
+    @Transactional
+    public String sendEmail(
             @NotBlank @Email String recipient,
             @NotBlank String subject,
             @NotBlank String body,
@@ -45,30 +55,96 @@ public class EmailService {
             @Email String replyTo,
             boolean isHtml) {
 
-        try {
-            if (isHtml) {
-                var mimeMessage = javaMailSender.createMimeMessage();
-                var helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
-                helper.setTo(recipient);
-                helper.setSubject(subject);
-                helper.setText(body, true);
-                setOptionalRecipients(helper, cc, bcc, replyTo);
-                javaMailSender.send(mimeMessage);
+        return enqueue(recipient, subject, body, null, cc, bcc, replyTo, isHtml, Instant.now());
+    }
+
+    /**
+     * Renders {@code template} for one recipient and queues it as an HTML message with a plain-text alternative.
+     */
+    @Transactional
+    public String sendTemplatedEmail(
+            @NotBlank @Email String recipient,
+            @NotBlank String subject,
+            @NotBlank String template,
+            Map<String, Object> model) {
+
+        var rendered = emailTemplates.render(template, model);
+        return enqueue(recipient, subject, rendered.html(), rendered.text(), null, null, null, true, Instant.now());
+    }
+
+    /**
+     * Queues a message that the dispatcher leaves alone until {@code sendTime}. Scheduled messages wait in the outbox
+     * table rather than in memory, so they survive restarts and any node may send them.
+     */
+    @Transactional
+    public String scheduleEmail(
+            @NotBlank @Email String recipient,
+            @NotBlank String subject,
+            @NotBlank String body,
+            List<@Email String> cc,
+            List<@Email String> bcc,
+            @Email String replyTo,
+            boolean isHtml,
+            @Future Instant sendTime) {
+
+        return enqueue(recipient, subject, body, null, cc, bcc, replyTo, isHtml, sendTime);
+    }
+
+    private String enqueue(String recipient, String subject, String body, String textBody, List<String> cc, List<String> bcc, String replyTo, boolean isHtml, Instant sendAt) {
+        var message = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .messageId(UUID.randomUUID().toString())
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .textBody(textBody)
+                .cc(joinAddresses(cc))
+                .bcc(joinAddresses(bcc))
+                .replyTo(replyTo == null || replyTo.isBlank() ? null : replyTo)
+                .html(isHtml)
+                .status(EmailStatus.PENDING)
+                .sendAt(sendAt)
+                .build());
+        log.info("Queued email {} for {} at {} with subject: {}", message.getMessageId(), recipient, sendAt, subject);
+        return message.getMessageId();
+    }
+
+    public Optional<EmailOutboxMessage> findQueuedEmail(String messageId) {
+        return emailOutboxRepository.findByMessageId(messageId);
+    }
+
+    /**
+     * Sends one outbox message over SMTP. Failures propagate so the dispatcher can retry or dead-letter the message.
+     */
+    public void deliver(EmailOutboxMessage outboxMessage) throws MessagingException {
+        var cc = splitAddresses(outboxMessage.getCc());
+        var bcc = splitAddresses(outboxMessage.getBcc());
+        if (outboxMessage.isHtml()) {
+            var mimeMessage = javaMailSender.createMimeMessage();
+            var helper = new MimeMessageHelper(mimeMessage, outboxMessage.getTextBody() != null, "UTF-8");
+            helper.setTo(outboxMessage.getRecipient());
+            helper.setSubject(outboxMessage.getSubject());
+            if (outboxMessage.getTextBody() != null) {
+                helper.setText(outboxMessage.getTextBody(), outboxMessage.getBody());
             } else {
-                var message = new SimpleMailMessage();
-                message.setTo(recipient);
-                message.setSubject(subject);
-                message.setText(body);
-                setOptionalRecipients(message, cc, bcc, replyTo);
-                javaMailSender.send(message);
+                helper.setText(outboxMessage.getBody(), true);
             }
-            log.info("Email successfully sent to {} with subject: {}", recipient, subject);
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", recipient, e.getMessage());
-            throw new IllegalStateException("Email sending failed.", e);
+            setOptionalRecipients(helper, cc, bcc, outboxMessage.getReplyTo());
+            javaMailSender.send(mimeMessage);
+        } else {
+            var message = new SimpleMailMessage();
+            message.setTo(outboxMessage.getRecipient());
+            message.setSubject(outboxMessage.getSubject());
+            message.setText(outboxMessage.getBody());
+            setOptionalRecipients(message, cc, bcc, outboxMessage.getReplyTo());
+            javaMailSender.send(message);
         }
+        log.info("Email {} successfully sent to {} with subject: {}", outboxMessage.getMessageId(), outboxMessage.getRecipient(), outboxMessage.getSubject());
     }
 
+    /**
+     * Sends immediately rather than through the outbox, since the attachments only live as long as the request. Each
+     * source is read when the message is written to the SMTP connection, and must open a fresh stream on every call.
+     */
     public void sendEmailWithAttachment(
             @NotBlank @Email String recipient,
             @NotBlank String subject,
@@ -77,7 +153,7 @@ public class EmailService {
             List<@Email String> bcc,
             @Email String replyTo,
             boolean isHtml,
-            Map<String, byte[]> attachments) {
+            Map<String, InputStreamSource> attachments) {
 
         try {
             var mimeMessage = javaMailSender.createMimeMessage();
@@ -89,7 +165,7 @@ public class EmailService {
 
             if (attachments != null) {
                 for (var attachment : attachments.entrySet()) {
-                    helper.addAttachment(attachment.getKey(), new ByteArrayResource(attachment.getValue()));
+                    helper.addAttachment(attachment.getKey(), attachment.getValue());
                 }
             }
             javaMailSender.send(mimeMessage);
@@ -102,57 +178,7 @@ public class EmailService {
 
     public void sendPasswordResetEmail(@NotBlank @Email String recipient, @NotBlank String token) {
         var resetLink = appBaseUrl + "/reset-password?token=" + token;
-        var message = """
-                A password reset was requested for your account.
-
-                Use this reset token:
-                %s
-
-                If your client supports reset links, open:
-                %s
-                """.formatted(token, resetLink);
-        sendEmail(recipient, "Password Reset Request", message, null, null, null, false);
-    }
-
-    public void sendBulkEmail(
-            @NotEmpty List<@NotBlank @Email String> recipients,
-            @NotBlank String subject,
-            @NotBlank String body) {
-
-        int successCount = 0;
-        int failureCount = 0;
-
-        for (String recipient : recipients) {
-            try {
-                sendEmail(recipient, subject, body, null, null, null, false);
-                successCount++;
-            } catch (Exception e) {
-                failureCount++;
-                log.warn("Failed to send bulk email to {}: {}", recipient, e.getMessage());
-            }
-        }
-        log.info("Bulk email completed: {} successful, {} failed out of {}", successCount, failureCount, recipients.size());
-    }
-
-    public void scheduleEmail(
-            @NotBlank @Email String recipient,
-            @NotBlank String subject,
-            @NotBlank String body,
-            List<@Email String> cc,
-            List<@Email String> bcc,
-            @Email String replyTo,
-            boolean isHtml,
-            @Future Instant sendTime) {
-
-        taskScheduler.schedule(() -> {
-            try {
-                sendEmail(recipient, subject, body, cc, bcc, replyTo, isHtml);
-            } catch (Exception e) {
-                log.error("Failed to send scheduled email to {}", recipient, e);
-            }
-        }, sendTime);
-
-        log.info("Scheduled email for {} at {}", recipient, sendTime);
+        sendTemplatedEmail(recipient, "Password Reset Request", "password-reset", Map.of("token", token, "resetLink", resetLink));
     }
 
     public String generatePasswordResetToken() {
@@ -161,6 +187,14 @@ public class EmailService {
         return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
     }
 
+    private static String joinAddresses(List<String> addresses) {
+        return addresses == null || addresses.isEmpty() ? null : String.join(",", addresses);
+    }
+
+    private static List<String> splitAddresses(String addresses) {
+        return addresses == null ? List.of() : List.of(addresses.split(","));
+    }
+
     private void setOptionalRecipients(MimeMessageHelper helper, List<String> cc, List<String> bcc, String replyTo) throws MessagingException {
         if (cc != null && !cc.isEmpty()) helper.setCc(cc.toArray(new String[0]));
         if (bcc != null && !bcc.isEmpty()) helper.setBcc(bcc.toArray(new String[0]));
@@ -0,0 +1,131 @@
+package com.personal.portfolio.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Renders email bodies from {@code templates/email}: {@code text/<name>.txt} and {@code html/<name>.html} are the two
+ * alternatives of one message. The engine is separate from the one serving web views (declaring it as a bean would
+ * replace that one) and keeps every parsed template cached for the life of the application.
+ */
+@Component
+public class EmailTemplates {
+
+    private static final String PREFIX = "templates/email/";
+    private static final Pattern VARIABLE_NAME = Pattern.compile("\\w+");
+
+    private final SpringTemplateEngine engine = new SpringTemplateEngine();
+
+    public EmailTemplates() {
+        engine.setEnableSpringELCompiler(true);
+        engine.addTemplateResolver(resolver("text/", ".txt", TemplateMode.TEXT, 1));
+        engine.addTemplateResolver(resolver("html/", ".html", TemplateMode.HTML, 2));
+    }
+
+    public RenderedEmail render(String template, Map<String, Object> model) {
+        var context = new Context();
+        context.setVariables(model);
+        return new RenderedEmail(engine.process("text/" + template, context), engine.process("html/" + template, context));
+    }
+
+    /**
+     * Renders a template once for many recipients. Each of {@code recipientVariables} is bound to a unique marker, and
+     * the output is split at the markers, so a recipient's copy is just the static parts joined with that recipient's
+     * escaped values. Recipient variables may therefore only be printed, not tested, iterated or transformed.
+     */
+    public PreparedEmail prepare(String template, Map<String, Object> model, Set<String> recipientVariables) {
+        var nonce = UUID.randomUUID().toString().replace("-", "");
+        var variables = new HashMap<>(model);
+        for (var name : recipientVariables) {
+            if (!VARIABLE_NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Invalid recipient variable name: " + name);
+            }
+            variables.put(name, "{{" + nonce + ":" + name + "}}");
+        }
+
+        var rendered = render(template, variables);
+        var marker = Pattern.compile("\\{\\{" + nonce + ":(\\w+)}}");
+        return new PreparedEmail(
+                Segments.split(rendered.text(), marker, UnaryOperator.identity()),
+                Segments.split(rendered.html(), marker, HtmlUtils::htmlEscape));
+    }
+
+    private static ClassLoaderTemplateResolver resolver(String directory, String suffix, TemplateMode mode, int order) {
+        var resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix(PREFIX);
+        resolver.setSuffix(suffix);
+        resolver.setResolvablePatterns(Set.of(directory + "*"));
+        resolver.setTemplateMode(mode);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        resolver.setOrder(order);
+        return resolver;
+    }
+
+    /**
+     * A template rendered up to its recipient variables. Immutable, so one instance can be merged from many threads.
+     */
+    public static final class PreparedEmail {
+
+        private final Segments text;
+        private final Segments html;
+
+        private PreparedEmail(Segments text, Segments html) {
+            this.text = text;
+            this.html = html;
+        }
+
+        public RenderedEmail merge(Map<String, String> recipientValues) {
+            return new RenderedEmail(text.merge(recipientValues), html.merge(recipientValues));
+        }
+    }
+
+    /**
+     * Static parts interleaved with variable names: {@code parts[0] names[0] parts[1] ... parts[n]}.
+     */
+    private record Segments(List<String> parts, List<String> names, UnaryOperator<String> escape, int staticLength) {
+
+        static Segments split(String rendered, Pattern marker, UnaryOperator<String> escape) {
+            var parts = new ArrayList<String>();
+            var names = new ArrayList<String>();
+            var matcher = marker.matcher(rendered);
+            var start = 0;
+            while (matcher.find()) {
+                parts.add(rendered.substring(start, matcher.start()));
+                names.add(matcher.group(1));
+                start = matcher.end();
+            }
+            parts.add(rendered.substring(start));
+            var staticLength = parts.stream().mapToInt(String::length).sum();
+            return new Segments(List.copyOf(parts), List.copyOf(names), escape, staticLength);
+        }
+
+        String merge(Map<String, String> values) {
+            if (names.isEmpty()) return parts.getFirst();
+
+            var merged = new StringBuilder(staticLength + names.size() * 32);
+            merged.append(parts.getFirst());
+            for (int i = 0; i < names.size(); i++) {
+                var value = values.get(names.get(i));
+                if (value != null) {
+                    merged.append(escape.apply(value));
+                }
+                merged.append(parts.get(i + 1));
+            }
+            return merged.toString();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.personal.portfolio.service;
+
+import com.personal.portfolio.event.UserChangedEvent;
+import com.personal.portfolio.event.UserChangedEvent.ChangeType;
+import com.personal.portfolio.model.MaintenanceCheckpoint;
+import com.personal.portfolio.repository.MaintenanceCheckpointRepository;
+import com.personal.portfolio.repository.PasswordResetTokenRepository;
+import com.personal.portfolio.repository.UserRef;
+import com.personal.portfolio.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Locks and then deletes users who have been inactive for too long. Both passes walk the table in ID order, one short
+ * transaction per chunk, pausing between chunks and stopping once the run's time budget is spent. The last finished
+ * ID is stored per pass, so the next run (or the first one after a restart) continues from there; a pass that reaches
+ * the end starts over from the beginning next time.
+ */
+@Slf4j
+@Component
+public class InactiveUserMaintenanceJob {
+
+    private static final String LOCK_JOB = "inactive-users.lock";
+    private static final String DELETE_JOB = "inactive-users.delete";
+
+    private final UserRepository userRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final MaintenanceCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter locked;
+    private final Counter deleted;
+    private final Timer runDuration;
+    private final AtomicLong lockCheckpoint = new AtomicLong();
+    private final AtomicLong deleteCheckpoint = new AtomicLong();
+
+    @Value("${app.users.maintenance.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.users.maintenance.lock-after:7776000000}")
+    private long lockAfterMillis;
+
+    @Value("${app.users.maintenance.delete-after:31536000000}")
+    private long deleteAfterMillis;
+
+    @Value("${app.users.maintenance.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.users.maintenance.chunk-pause:100}")
+    private long chunkPauseMillis;
+
+    @Value("${app.users.maintenance.time-budget:600000}")
+    private long timeBudgetMillis;
+
+    public InactiveUserMaintenanceJob(
+            UserRepository userRepository,
+            PasswordResetTokenRepository passwordResetTokenRepository,
+            MaintenanceCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.locked = Counter.builder("users.maintenance.processed")
+                .tag("action", "lock")
+                .description("Inactive users locked by the maintenance job")
+                .register(meterRegistry);
+        this.deleted = Counter.builder("users.maintenance.processed")
+                .tag("action", "delete")
+                .description("Inactive users deleted by the maintenance job")
+                .register(meterRegistry);
+        this.runDuration = Timer.builder("users.maintenance.run.duration").register(meterRegistry);
+        Gauge.builder("users.maintenance.checkpoint", lockCheckpoint, AtomicLong::get)
+                .tag("action", "lock")
+                .description("Last user ID finished by the current lock pass")
+                .register(meterRegistry);
+        Gauge.builder("users.maintenance.checkpoint", deleteCheckpoint, AtomicLong::get)
+                .tag("action", "delete")
+                .description("Last user ID finished by the current delete pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.users.maintenance.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    public void run() {
+        runDuration.record(() -> {
+            var now = Instant.now();
+            var deadline = System.nanoTime() + Duration.ofMillis(timeBudgetMillis).toNanos();
+
+            var finished = lockPass(now.minusMillis(lockAfterMillis), now, deadline)
+                    && deletePass(now.minusMillis(deleteAfterMillis), deadline);
+            if (!finished) {
+                log.info("Inactive user maintenance stopped at its time budget; the next run resumes from the checkpoint.");
+            }
+        });
+    }
+
+    private boolean lockPass(Instant threshold, Instant now, long deadline) {
+        return pass(LOCK_JOB, lockCheckpoint, deadline,
+                afterId -> userRepository.findInactiveUnlockedAfter(afterId, threshold, Limit.of(chunkSize)),
+                chunk -> {
+                    var ids = ids(chunk);
+                    var affected = userRepository.lockInactiveByIdIn(ids, threshold, now);
+                    chunk.forEach(ref -> eventPublisher.publishEvent(new UserChangedEvent(ref.id(), ref.email(), ChangeType.LOCK_CHANGED)));
+                    locked.increment(affected);
+                    return affected;
+                });
+    }
+
+    private boolean deletePass(Instant threshold, long deadline) {
+        return pass(DELETE_JOB, deleteCheckpoint, deadline,
+                afterId -> userRepository.findInactiveAfter(afterId, threshold, Limit.of(chunkSize)),
+                chunk -> {
+                    var ids = ids(chunk);
+                    passwordResetTokenRepository.deleteAllByUserIdIn(ids);
+                    var affected = userRepository.deleteInactiveByIdIn(ids, threshold);
+                    chunk.forEach(ref -> eventPublisher.publishEvent(new UserChangedEvent(ref.id(), ref.email(), ChangeType.DELETED)));
+                    deleted.increment(affected);
+                    return affected;
+                });
+    }
+
+    /**
+     * Runs one pass from its checkpoint. Returns {@code true} if it reached the end of the table, {@code false} if the
+     * time budget ran out first.
+     */
+    private boolean pass(String jobName, AtomicLong checkpoint, long deadline, LongFunction<List<UserRef>> query, ToIntFunction<List<UserRef>> action) {
+        var afterId = checkpointRepository.findById(jobName).map(MaintenanceCheckpoint::getLastId).orElse(0L);
+        checkpoint.set(afterId);
+        long processed = 0;
+
+        while (System.nanoTime() < deadline) {
+            var cursor = afterId;
+            var result = transactionTemplate.execute(status -> {
+                var chunk = query.apply(cursor);
+                if (chunk.isEmpty()) {
+                    checkpointRepository.save(new MaintenanceCheckpoint(jobName, 0));
+                    return null;
+                }
+                var affected = action.applyAsInt(chunk);
+                var lastId = chunk.getLast().id();
+                checkpointRepository.save(new MaintenanceCheckpoint(jobName, lastId));
+                return new ChunkProgress(lastId, affected);
+            });
+
+            if (result == null) {
+                checkpoint.set(0);
+                log.info("Inactive user pass {} completed: {} users processed in this run.", jobName, processed);
+                return true;
+            }
+            afterId = result.lastId();
+            processed += result.affected();
+            checkpoint.set(afterId);
+
+            if (!pause()) return false;
+        }
+        log.info("Inactive user pass {} paused after user {}: {} users processed in this run.", jobName, afterId, processed);
+        return false;
+    }
+
+    private boolean pause() {
+        if (chunkPauseMillis <= 0) return true;
+        try {
+            Thread.sleep(chunkPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static List<Long> ids(List<UserRef> chunk) {
+        return chunk.stream().map(UserRef::id).toList();
+    }
+
+    private record ChunkProgress(long lastId, int affected) {
+    }
+}
@@ -1,13 +1,25 @@
 package com.personal.portfolio.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.personal.portfolio.dto.auth.JwkSetDocument;
+import com.personal.portfolio.model.JwtAlgorithm;
 import com.personal.portfolio.model.JwtKey;
 import com.personal.portfolio.repository.JwtKeyRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,12 +27,36 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -28,13 +64,40 @@ public class JwtService {
 
     private static final ReentrantLock lock = new ReentrantLock();
 
+    private static final String ISSUER = "Khova Krishna Pilato";
+    private static final String AUDIENCE = "com.personal.portfolio";
+
     private final long tokenExpiration;
+    private final JwtAlgorithm signingAlgorithm;
     private final JwtKeyRepository keyRepository;
-    private volatile SecretKey cachedSigningKey;
+    private final TokenRevocationService tokenRevocationService;
+    private final Cache<String, Claims> verifiedTokens;
+    private final JwtParser parser;
+    private volatile Keyring keyring;
 
-    public JwtService(@Value("${jwt.token.expiration:7200000}") long tokenExpiration, JwtKeyRepository keyRepository) {
+    public JwtService(
+            @Value("${jwt.token.expiration:7200000}") long tokenExpiration,
+            @Value("${jwt.cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${jwt.cache.ttl:300000}") long cacheTtl,
+            @Value("${jwt.signing.algorithm:HS512}") JwtAlgorithm signingAlgorithm,
+            JwtKeyRepository keyRepository,
+            TokenRevocationService tokenRevocationService,
+            MeterRegistry meterRegistry) {
         this.tokenExpiration = tokenExpiration;
+        this.signingAlgorithm = signingAlgorithm;
         this.keyRepository = keyRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new VerifiedTokenExpiry(TimeUnit.MILLISECONDS.toNanos(cacheTtl)))
+                .recordStats()
+                .build();
+        this.parser = Jwts.parser()
+                .keyLocator(this::locateVerificationKey)
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
         rotateKey();
     }
 
@@ -43,48 +106,84 @@ public class JwtService {
     public void rotateKey() {
         lock.lock();
         try {
-            var now = Instant.now();
+            keyRepository.deleteExpiredKeys(verificationThreshold());
 
-            keyRepository.deleteExpiredKeys(now);
+            var storedKeys = loadVerificationKeys();
+            if (storedKeys.isEmpty() || storedKeys.getFirst().isExpired() || storedKeys.getFirst().getAlgorithm() != signingAlgorithm) {
+                storedKeys.addFirst(createAndStoreNewKey());
+            }
+            activate(storedKeys);
+            tokenRevocationService.purgeExpired();
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            keyRepository.findFirstByOrderByCreatedDateDesc()
-                    .filter(activeKey -> !activeKey.isExpired())
-                    .ifPresentOrElse(
-                            activeKey -> cachedSigningKey = decodeKey(activeKey.getSecretKey()),
-                            this::createAndStoreNewKey
-                    );
+    @Scheduled(fixedDelayString = "${jwt.keyring.refresh-interval:300000}", initialDelayString = "${jwt.keyring.refresh-interval:300000}")
+    public void refreshKeyring() {
+        lock.lock();
+        try {
+            var storedKeys = loadVerificationKeys();
+            if (!storedKeys.isEmpty()) {
+                activate(storedKeys);
+            }
         } finally {
             lock.unlock();
         }
     }
 
-    private void createAndStoreNewKey() {
-        var newKey = Jwts.SIG.HS512.key().build();
-        var encodedKey = Base64.getEncoder().encodeToString(newKey.getEncoded());
+    private JwtKey createAndStoreNewKey() {
+        var builder = JwtKey.builder().algorithm(signingAlgorithm);
 
-        var newKeyEntity = JwtKey.builder()
-                .secretKey(encodedKey)
-                .build();
+        switch (signingAlgorithm) {
+            case HS512 -> builder.secretKey(encode(Jwts.SIG.HS512.key().build()));
+            case ES256 -> {
+                var keyPair = generateKeyPair("EC", new ECGenParameterSpec("secp256r1"));
+                builder.secretKey(encode(keyPair.getPrivate())).publicKey(encode(keyPair.getPublic()));
+            }
+            case ED25519 -> {
+                var keyPair = generateKeyPair("Ed25519", null);
+                builder.secretKey(encode(keyPair.getPrivate())).publicKey(encode(keyPair.getPublic()));
+            }
+        }
 
-        keyRepository.save(newKeyEntity);
-        cachedSigningKey = newKey;
+        var newKeyEntity = keyRepository.save(builder.build());
 
-        log.info("New JWT signing key created (ID: {}).", newKeyEntity.getKeyId());
+        log.info("New JWT signing key created (ID: {}, algorithm: {}).", newKeyEntity.getKeyId(), signingAlgorithm);
+        return newKeyEntity;
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        if (token == null || token.isBlank()) return false;
+    public Optional<Claims> verifyToken(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
 
-        try {
-            var claims = parseClaims(token);
-            var username = claims.getSubject();
-            var isExpired = claims.getExpiration().before(new Date());
+        var cacheKey = digest(token);
+        var claims = verifiedTokens.getIfPresent(cacheKey);
+        if (claims == null) {
+            try {
+                claims = parseClaims(token);
+                verifiedTokens.put(cacheKey, claims);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Invalid or expired JWT token: {}", e.getMessage());
+                return Optional.empty();
+            }
+        }
 
-            return username.equals(userDetails.getUsername()) && !isExpired;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.debug("Invalid or expired JWT token: {}", e.getMessage());
-            return false;
+        if (tokenRevocationService.isRevoked(claims.getId())) {
+            log.debug("Rejected revoked JWT token: {}", claims.getId());
+            return Optional.empty();
         }
+        return Optional.of(claims);
+    }
+
+    public void revokeToken(String token) {
+        verifyToken(token).ifPresent(claims -> tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant()));
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return verifyToken(token)
+                .map(Claims::getSubject)
+                .filter(username -> username.equals(userDetails.getUsername()))
+                .isPresent();
     }
 
     public String extractUsername(String token) {
@@ -107,43 +206,216 @@ public class JwtService {
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         var now = Instant.now();
+        var current = keyring;
 
-        return Jwts.builder()
+        var builder = Jwts.builder()
+                .header().keyId(current.signingKeyId()).and()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
-                .issuer("Khova Krishna Pilato")
-                .audience().add("com.personal.portfolio").and()
+                .issuer(ISSUER)
+                .audience().add(AUDIENCE).and()
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(now.plusMillis(tokenExpiration)))
-                .signWith(getSignInKey(), Jwts.SIG.HS512)
-                .compact();
+                .expiration(Date.from(now.plusMillis(tokenExpiration)));
+
+        return sign(builder, current).compact();
+    }
+
+    private JwtBuilder sign(JwtBuilder builder, Keyring current) {
+        return switch (current.signingAlgorithm()) {
+            case HS512 -> builder.signWith((SecretKey) current.signingKey(), Jwts.SIG.HS512);
+            case ES256 -> builder.signWith((PrivateKey) current.signingKey(), Jwts.SIG.ES256);
+            case ED25519 -> builder.signWith((PrivateKey) current.signingKey(), Jwts.SIG.EdDSA);
+        };
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public SecretKey getSignInKey() {
-        if (cachedSigningKey == null) {
-            lock.lock();
-            try {
-                if (cachedSigningKey == null) {
-                    cachedSigningKey = keyRepository.findFirstByOrderByCreatedDateDesc()
-                            .map(activeKey -> decodeKey(activeKey.getSecretKey()))
-                            .orElseThrow(() -> new IllegalStateException("No active signing key found in the database!"));
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
-        return cachedSigningKey;
+    public Key getSignInKey() {
+        return keyring.signingKey();
+    }
+
+    public JwkSetDocument getJwkSet() {
+        return keyring.jwkSet();
     }
 
     public SecretKey decodeKey(String encodedKey) {
         return Keys.hmacShaKeyFor(Base64.getDecoder().decode(encodedKey));
     }
-}
\ No newline at end of file
+
+    private Key locateVerificationKey(Header header) {
+        var current = keyring;
+        if (header instanceof ProtectedHeader protectedHeader && protectedHeader.getKeyId() != null) {
+            return current.verificationKeys().get(protectedHeader.getKeyId());
+        }
+        return current.legacyKey();
+    }
+
+    private List<JwtKey> loadVerificationKeys() {
+        return new ArrayList<>(keyRepository.findByExpirationDateAfterOrderByCreatedDateDesc(verificationThreshold(), Pageable.unpaged()));
+    }
+
+    private Instant verificationThreshold() {
+        return Instant.now().minusMillis(tokenExpiration);
+    }
+
+    private void activate(List<JwtKey> storedKeys) {
+        var verificationKeys = new HashMap<String, Key>();
+        Key legacyKey = null;
+        for (var storedKey : storedKeys) {
+            var verificationKey = decodeVerificationKey(storedKey);
+            verificationKeys.put(storedKey.getKeyId(), verificationKey);
+            if (legacyKey == null && storedKey.getAlgorithm() == JwtAlgorithm.HS512) {
+                legacyKey = verificationKey;
+            }
+        }
+
+        var signingKey = storedKeys.getFirst();
+        var previous = keyring;
+        if (previous != null && previous.verificationKeys().keySet().equals(verificationKeys.keySet())
+                && previous.signingKeyId().equals(signingKey.getKeyId())) {
+            return;
+        }
+
+        keyring = new Keyring(
+                signingKey.getKeyId(),
+                signingKey.getAlgorithm(),
+                decodeSigningKey(signingKey),
+                legacyKey,
+                Map.copyOf(verificationKeys),
+                buildJwkSet(storedKeys));
+
+        if (previous != null && !verificationKeys.keySet().containsAll(previous.verificationKeys().keySet())) {
+            verifiedTokens.invalidateAll();
+        }
+    }
+
+    private Key decodeSigningKey(JwtKey storedKey) {
+        return switch (storedKey.getAlgorithm()) {
+            case HS512 -> decodeKey(storedKey.getSecretKey());
+            case ES256 -> decodePrivateKey("EC", storedKey.getSecretKey());
+            case ED25519 -> decodePrivateKey("Ed25519", storedKey.getSecretKey());
+        };
+    }
+
+    private Key decodeVerificationKey(JwtKey storedKey) {
+        return switch (storedKey.getAlgorithm()) {
+            case HS512 -> decodeKey(storedKey.getSecretKey());
+            case ES256 -> decodePublicKey("EC", storedKey.getPublicKey());
+            case ED25519 -> decodePublicKey("Ed25519", storedKey.getPublicKey());
+        };
+    }
+
+    private PrivateKey decodePrivateKey(String algorithm, String encodedKey) {
+        try {
+            return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(encodedKey)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to decode " + algorithm + " private key.", e);
+        }
+    }
+
+    private PublicKey decodePublicKey(String algorithm, String encodedKey) {
+        try {
+            return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encodedKey)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to decode " + algorithm + " public key.", e);
+        }
+    }
+
+    private KeyPair generateKeyPair(String algorithm, ECGenParameterSpec parameterSpec) {
+        try {
+            var generator = KeyPairGenerator.getInstance(algorithm);
+            if (parameterSpec != null) {
+                generator.initialize(parameterSpec);
+            }
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate " + algorithm + " key pair.", e);
+        }
+    }
+
+    private String encode(Key key) {
+        return Base64.getEncoder().encodeToString(key.getEncoded());
+    }
+
+    private JwkSetDocument buildJwkSet(List<JwtKey> storedKeys) {
+        var keys = storedKeys.stream()
+                .filter(storedKey -> storedKey.getAlgorithm().isAsymmetric())
+                .map(this::toJwk)
+                .collect(Collectors.joining(","));
+        var json = "{\"keys\":[" + keys + "]}";
+        return new JwkSetDocument(json, "\"" + digest(json) + "\"");
+    }
+
+    private String toJwk(JwtKey storedKey) {
+        var publicKey = (PublicKey) decodeVerificationKey(storedKey);
+        var base64Url = Base64.getUrlEncoder().withoutPadding();
+
+        return switch (storedKey.getAlgorithm()) {
+            case ES256 -> {
+                var point = ((ECPublicKey) publicKey).getW();
+                yield "{\"kty\":\"EC\",\"crv\":\"P-256\",\"x\":\"%s\",\"y\":\"%s\",\"use\":\"sig\",\"alg\":\"ES256\",\"kid\":\"%s\"}"
+                        .formatted(base64Url.encodeToString(toUnsignedBytes(point.getAffineX(), 32)),
+                                base64Url.encodeToString(toUnsignedBytes(point.getAffineY(), 32)),
+                                storedKey.getKeyId());
+            }
+            case ED25519 -> {
+                var encoded = publicKey.getEncoded();
+                var rawKey = Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length);
+                yield "{\"kty\":\"OKP\",\"crv\":\"Ed25519\",\"x\":\"%s\",\"use\":\"sig\",\"alg\":\"EdDSA\",\"kid\":\"%s\"}"
+                        .formatted(base64Url.encodeToString(rawKey), storedKey.getKeyId());
+            }
+            case HS512 -> throw new IllegalArgumentException("Symmetric keys are never published.");
+        };
+    }
+
+    private byte[] toUnsignedBytes(BigInteger value, int length) {
+        var bytes = value.toByteArray();
+        var result = new byte[length];
+        var copyLength = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copyLength, result, length - copyLength, copyLength);
+        return result;
+    }
+
+    private String digest(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to hash JWT token.", e);
+        }
+    }
+
+    private record Keyring(
+            String signingKeyId,
+            JwtAlgorithm signingAlgorithm,
+            Key signingKey,
+            Key legacyKey,
+            Map<String, Key> verificationKeys,
+            JwkSetDocument jwkSet) {
+    }
+
+    private record VerifiedTokenExpiry(long maximumTtlNanos) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            var expiration = claims.getExpiration();
+            if (expiration == null) return maximumTtlNanos;
+
+            var remainingNanos = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maximumTtlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
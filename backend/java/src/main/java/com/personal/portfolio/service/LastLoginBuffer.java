@@ -0,0 +1,95 @@
+package com.personal.portfolio.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects last-login timestamps off the login path and writes them in batches. Repeated logins by the same user
+ * between flushes coalesce into a single update carrying the latest timestamp. Each batch is one JDBC batch, which the
+ * MySQL driver sends in a single round trip with {@code rewriteBatchedStatements}.
+ */
+@Slf4j
+@Component
+public class LastLoginBuffer {
+
+    private static final String UPDATE_LAST_LOGIN = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Instant> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.users.last-login.batch-size:500}")
+    private int batchSize;
+
+    public LastLoginBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("users.last-login.pending", pending, Map::size)
+                .description("Last-login updates waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    public void record(Long userId, Instant lastLogin) {
+        pending.merge(userId, lastLogin, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.last-login.flush-interval:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        var batch = new ArrayList<Map.Entry<Long, Instant>>(batchSize);
+        for (var userId : pending.keySet()) {
+            var lastLogin = pending.remove(userId);
+            if (lastLogin != null) {
+                batch.add(Map.entry(userId, lastLogin));
+            }
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("Draining {} buffered last-login updates before shutdown.", pending.size());
+        flush();
+    }
+
+    private void write(List<Map.Entry<Long, Instant>> batch) {
+        try {
+            // Bound in UTC, the way Hibernate binds the Instant it reads back.
+            var utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, batch, batch.size(),
+                    (statement, entry) -> {
+                        statement.setTimestamp(1, Timestamp.from(entry.getValue()), utc);
+                        statement.setLong(2, entry.getKey());
+                    }));
+            log.debug("Flushed {} last-login updates.", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} last-login updates, retrying on next flush: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.personal.portfolio.service;
 
+import com.personal.portfolio.event.UserChangedEvent;
+import com.personal.portfolio.event.UserChangedEvent.ChangeType;
 import com.personal.portfolio.exception.InvalidPasswordResetTokenException;
 import com.personal.portfolio.model.PasswordResetToken;
 import com.personal.portfolio.repository.PasswordResetTokenRepository;
@@ -7,6 +9,7 @@ import com.personal.portfolio.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -28,6 +31,7 @@ public class PasswordResetService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.password-reset.expiration-hours:1}")
     private long passwordResetExpirationHours;
@@ -64,6 +68,7 @@ public class PasswordResetService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setCredentialsNonExpired(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail(), ChangeType.PASSWORD_CHANGED));
 
         passwordResetTokenRepository.deleteAllByUser(user);
         log.info("Password reset completed for user {}", user.getEmail());
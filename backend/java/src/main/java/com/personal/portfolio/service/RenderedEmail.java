@@ -0,0 +1,7 @@
+package com.personal.portfolio.service;
+
+/**
+ * The plain-text and HTML alternatives of one message body.
+ */
+public record RenderedEmail(String text, String html) {
+}
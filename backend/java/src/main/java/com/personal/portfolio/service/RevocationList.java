@@ -0,0 +1,85 @@
+package com.personal.portfolio.service;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked token ids held as a Bloom filter in front of an exact set. Almost every lookup is for a token that was
+ * never revoked and is answered by the filter alone; the set only confirms the rare positive. Lookups do not allocate.
+ */
+public final class RevocationList {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.001;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final Set<String> confirmed = ConcurrentHashMap.newKeySet();
+
+    public RevocationList(long expectedEntries) {
+        var entries = Math.max(1, expectedEntries);
+        var optimalBits = (long) Math.ceil(-entries * Math.log(FALSE_POSITIVE_PROBABILITY) / (Math.log(2) * Math.log(2)));
+        var words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6);
+
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+    }
+
+    public static RevocationList of(Collection<String> jtis, long expectedEntries) {
+        var revocationList = new RevocationList(Math.max(expectedEntries, jtis.size() * 2L));
+        jtis.forEach(revocationList::add);
+        return revocationList;
+    }
+
+    public void add(String jti) {
+        var h1 = hash(jti, 0xcbf29ce484222325L);
+        var h2 = hash(jti, 0x84222325cbf29ce4L) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            var bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            var word = (int) (bit >>> 6);
+            var mask = 1L << bit;
+
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+        confirmed.add(jti);
+    }
+
+    public boolean contains(String jti) {
+        var h1 = hash(jti, 0xcbf29ce484222325L);
+        var h2 = hash(jti, 0x84222325cbf29ce4L) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            var bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return confirmed.contains(jti);
+    }
+
+    public int size() {
+        return confirmed.size();
+    }
+
+    private static long hash(CharSequence value, long seed) {
+        var hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
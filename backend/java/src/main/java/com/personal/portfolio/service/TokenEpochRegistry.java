@@ -0,0 +1,92 @@
+package com.personal.portfolio.service;
+
+import com.personal.portfolio.event.UserChangedEvent;
+import com.personal.portfolio.repository.TokenEpochRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user cut-offs for stateless tokens: a lock, role change, password change or deletion rejects every token the
+ * user was issued before it. Epochs are written to {@code token_epochs} with the change and checked from memory; each
+ * node loads them at startup and again every {@code jwt.revocation.refresh-interval}, so a restart forgets nothing and
+ * other nodes catch up within that interval.
+ */
+@Slf4j
+@Component
+public class TokenEpochRegistry {
+
+    private static final EnumSet<UserChangedEvent.ChangeType> REVOKING_CHANGES = EnumSet.of(
+            UserChangedEvent.ChangeType.LOCK_CHANGED,
+            UserChangedEvent.ChangeType.ROLE_CHANGED,
+            UserChangedEvent.ChangeType.PASSWORD_CHANGED,
+            UserChangedEvent.ChangeType.DELETED
+    );
+
+    private final Map<String, Instant> tokensIssuedBefore = new ConcurrentHashMap<>();
+    private final TokenEpochRepository tokenEpochRepository;
+    private final long tokenExpiration;
+
+    public TokenEpochRegistry(
+            TokenEpochRepository tokenEpochRepository,
+            @Value("${jwt.token.expiration:7200000}") long tokenExpiration) {
+        this.tokenEpochRepository = tokenEpochRepository;
+        this.tokenExpiration = tokenExpiration;
+        reload();
+    }
+
+    /**
+     * JWT {@code iat} has whole-second precision, so the epoch is kept in whole seconds too and only tokens issued in an
+     * earlier second are rejected. A token issued in the same second as the change, just before it, therefore stays
+     * valid; the alternative would reject the fresh token of a user who logs in right after the change.
+     */
+    public void revokeTokensIssuedBefore(String email, Instant epoch) {
+        var truncated = epoch.truncatedTo(ChronoUnit.SECONDS);
+        tokenEpochRepository.advance(email, truncated);
+        remember(email, truncated);
+    }
+
+    public boolean isRevoked(String email, Date issuedAt) {
+        var epoch = tokensIssuedBefore.get(email);
+        if (epoch == null) return false;
+        return issuedAt == null || issuedAt.toInstant().isBefore(epoch);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.email() != null && REVOKING_CHANGES.contains(event.changeType())) {
+            revokeTokensIssuedBefore(event.email(), Instant.now());
+            log.debug("Revoked tokens issued to {} after {}", event.email(), event.changeType());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:60000}", initialDelayString = "${jwt.revocation.refresh-interval:60000}")
+    public void reload() {
+        var threshold = Instant.now().minusMillis(tokenExpiration);
+        tokenEpochRepository.findByTokensIssuedBeforeAfter(threshold)
+                .forEach(epoch -> remember(epoch.getEmail(), epoch.getTokensIssuedBefore()));
+    }
+
+    /**
+     * Once every token issued before an epoch has expired, the epoch rejects nothing and can go.
+     */
+    @Scheduled(fixedDelayString = "${jwt.token.expiration:7200000}")
+    public void purgeElapsedEpochs() {
+        var threshold = Instant.now().minusMillis(tokenExpiration);
+        tokensIssuedBefore.values().removeIf(epoch -> epoch.isBefore(threshold));
+        tokenEpochRepository.deleteElapsed(threshold);
+    }
+
+    private void remember(String email, Instant epoch) {
+        tokensIssuedBefore.merge(email, epoch, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+}
@@ -0,0 +1,103 @@
+package com.personal.portfolio.service;
+
+import com.personal.portfolio.model.RevokedToken;
+import com.personal.portfolio.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the ids of revoked, unexpired tokens in memory and refreshes them from the database every
+ * {@code refresh-interval}. A revocation reaches the in-memory list only once its row has committed, and is remembered
+ * until a reload whose snapshot started after that point, so a reload running concurrently cannot drop it.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> recentRevocations = new ConcurrentHashMap<>();
+    private volatile RevocationList revocationList;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.expected-entries:1000000}") long expectedEntries,
+            MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        reload();
+        Gauge.builder("jwt.revocations.active", this, service -> service.revocationList.size())
+                .description("Revoked token ids that have not yet expired")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revocationList.contains(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) return;
+
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(jti);
+                }
+            });
+        } else {
+            remember(jti);
+        }
+        log.info("Revoked token {} until {}", jti, expiresAt);
+    }
+
+    @Transactional
+    public void purgeExpired() {
+        var purged = revokedTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired token revocations.", purged);
+        }
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:60000}", initialDelayString = "${jwt.revocation.refresh-interval:60000}")
+    public synchronized void reload() {
+        var snapshotStart = sequence.get();
+        var reloaded = RevocationList.of(revokedTokenRepository.findActiveJtis(Instant.now()), expectedEntries);
+        revocationList = reloaded;
+
+        // Revocations committed before the snapshot started are in it; later ones may not be, so carry them over.
+        // One that was still adding itself to the previous list has already recorded itself here.
+        recentRevocations.forEach((jti, revokedAt) -> {
+            if (revokedAt >= snapshotStart) {
+                reloaded.add(jti);
+            }
+        });
+        recentRevocations.values().removeIf(revokedAt -> revokedAt < snapshotStart);
+    }
+
+    private void remember(String jti) {
+        recentRevocations.put(jti, sequence.getAndIncrement());
+        revocationList.add(jti);
+    }
+}
@@ -0,0 +1,120 @@
+package com.personal.portfolio.service;
+
+import com.personal.portfolio.dto.user.BatchOperationResult;
+import com.personal.portfolio.dto.user.UserSelection;
+import com.personal.portfolio.event.UserChangedEvent;
+import com.personal.portfolio.event.UserChangedEvent.ChangeType;
+import com.personal.portfolio.model.Role;
+import com.personal.portfolio.repository.UserRef;
+import com.personal.portfolio.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Applies admin operations to sets of users with one set-based {@code UPDATE} or {@code DELETE} per chunk of IDs
+ * instead of a load-modify-save round trip per user. Each chunk commits on its own, so a large filter never holds
+ * row locks for the whole run, and a change event is published per selected user so caches and issued tokens follow.
+ */
+@Slf4j
+@Service
+public class UserBatchService {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.users.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    public UserBatchService(
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BatchOperationResult setLocked(UserSelection selection, boolean locked) {
+        var now = Instant.now();
+        return apply(selection, ChangeType.LOCK_CHANGED, ids -> userRepository.updateLockStatusByIdIn(ids, locked, now));
+    }
+
+    public BatchOperationResult changeRole(UserSelection selection, Role role) {
+        var now = Instant.now();
+        return apply(selection, ChangeType.ROLE_CHANGED, ids -> userRepository.updateRoleByIdIn(ids, role, now));
+    }
+
+    public BatchOperationResult activate(UserSelection selection) {
+        var now = Instant.now();
+        return apply(selection, ChangeType.ACTIVATED, ids -> userRepository.activateByIdIn(ids, now));
+    }
+
+    /**
+     * Password reset tokens and search terms go with their users through {@code ON DELETE CASCADE}.
+     */
+    public BatchOperationResult delete(UserSelection selection) {
+        return apply(selection, ChangeType.DELETED, userRepository::deleteByIdIn);
+    }
+
+    private BatchOperationResult apply(UserSelection selection, ChangeType changeType, ToIntFunction<List<Long>> statement) {
+        long matched = 0;
+        long affected = 0;
+
+        if (selection.ids() != null && !selection.ids().isEmpty()) {
+            var ids = selection.ids().stream().distinct().toList();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                var chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                var result = applyChunk(() -> userRepository.findRefsByIdIn(chunk), changeType, statement);
+                matched += result.matched();
+                affected += result.affected();
+            }
+        } else {
+            var filter = selection.filter();
+            if (filter.role() == null && filter.enabled() == null && filter.locked() == null && filter.search() == null) {
+                throw new IllegalArgumentException("Select users by IDs or by at least one filter.");
+            }
+            long afterId = 0;
+            while (true) {
+                var cursor = afterId;
+                var result = applyChunk(() -> userRepository.findRefsByFilters(filter.role(), filter.enabled(),
+                        filter.locked(), filter.search(), cursor, Limit.of(chunkSize)), changeType, statement);
+                matched += result.matched();
+                affected += result.affected();
+                if (result.matched() < chunkSize) break;
+                afterId = result.lastId();
+            }
+        }
+
+        log.info("Batch {} on users: {} matched, {} affected.", changeType, matched, affected);
+        return new BatchOperationResult(matched, affected);
+    }
+
+    /**
+     * Selects one chunk and changes it in the same transaction, publishing its events before commit so the
+     * transactional listeners run once the change is visible.
+     */
+    private ChunkResult applyChunk(Supplier<List<UserRef>> refs, ChangeType changeType, ToIntFunction<List<Long>> statement) {
+        return transactionTemplate.execute(status -> {
+            var chunk = refs.get();
+            if (chunk.isEmpty()) return new ChunkResult(0, 0, 0);
+
+            var affected = statement.applyAsInt(chunk.stream().map(UserRef::id).toList());
+            chunk.forEach(ref -> eventPublisher.publishEvent(new UserChangedEvent(ref.id(), ref.email(), changeType)));
+            return new ChunkResult(chunk.size(), affected, chunk.getLast().id());
+        });
+    }
+
+    private record ChunkResult(int matched, int affected, long lastId) {
+    }
+}
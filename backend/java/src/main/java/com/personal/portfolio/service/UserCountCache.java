@@ -0,0 +1,72 @@
+package com.personal.portfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.portfolio.event.UserChangedEvent;
+import com.personal.portfolio.repository.UserFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Exact listing totals keyed by the normalized filter, plus lower bounds for filters too large to count exactly. Any
+ * user write can change any total, so every change clears both; bulk statements that bypass events are bounded by the
+ * TTL.
+ */
+@Component
+public class UserCountCache {
+
+    private final Cache<UserFilter, Long> counts;
+    private final Cache<UserFilter, Long> lowerBounds;
+
+    public UserCountCache(
+            @Value("${app.users.count-cache.maximum-size:1000}") long maximumSize,
+            @Value("${app.users.count-cache.ttl:30000}") long ttl,
+            MeterRegistry meterRegistry) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build();
+        this.lowerBounds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "users.counts");
+    }
+
+    public long get(UserFilter filter, Function<UserFilter, Long> counter) {
+        return counts.get(filter, counter);
+    }
+
+    public Long getIfPresent(UserFilter filter) {
+        return counts.getIfPresent(filter);
+    }
+
+    public void put(UserFilter filter, long count) {
+        counts.put(filter, count);
+    }
+
+    public Long getLowerBoundIfPresent(UserFilter filter) {
+        return lowerBounds.getIfPresent(filter);
+    }
+
+    public void putLowerBound(UserFilter filter, long lowerBound) {
+        lowerBounds.put(filter, lowerBound);
+    }
+
+    public void invalidateAll() {
+        counts.invalidateAll();
+        lowerBounds.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidateAll();
+    }
+}
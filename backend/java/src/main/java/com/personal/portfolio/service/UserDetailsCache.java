@@ -0,0 +1,52 @@
+package com.personal.portfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.portfolio.event.UserChangedEvent;
+import com.personal.portfolio.model.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserPrincipal> principals;
+
+    public UserDetailsCache(
+            @Value("${app.users.details-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.users.details-cache.ttl:60000}") long ttl,
+            MeterRegistry meterRegistry) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "users.details");
+    }
+
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.email() == null) {
+            principals.invalidateAll();
+            return;
+        }
+        principals.invalidate(event.email());
+        log.debug("Evicted cached principal for {} after {}", event.email(), event.changeType());
+    }
+}
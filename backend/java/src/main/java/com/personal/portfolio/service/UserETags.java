@@ -0,0 +1,96 @@
+package com.personal.portfolio.service;
+
+import com.personal.portfolio.dto.common.PageResponse;
+import com.personal.portfolio.dto.user.UserRevision;
+import com.personal.portfolio.dto.user.UserSummary;
+import com.personal.portfolio.dto.user.UserVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong entity tags for user resources. A single user's tag is {@code "<version>-<last login>"}, so {@code If-Match}
+ * can be checked against the optimistic-locking version alone; list tags digest the {@link UserVersion} of every row.
+ * Either can be computed from a version-only query or from the full response.
+ */
+public final class UserETags {
+
+    private UserETags() {
+    }
+
+    public static String forUser(UserRevision revision) {
+        var lastLogin = revision.lastLogin() == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, revision.lastLogin());
+        return quote(revision.version() + "-" + Long.toHexString(lastLogin));
+    }
+
+    public static String forPage(PageResponse<UserVersion> page) {
+        return quote(digest(page.content(), pageState(page)));
+    }
+
+    public static String forSummaries(PageResponse<UserSummary> page) {
+        return quote(digest(page.content().stream().map(UserVersion::of).toList(), pageState(page)));
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against the current tag using weak comparison, as RFC 9110 requires
+     * for GET.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against a user's current version. Only the version part of each tag is
+     * compared: the last login is not editable, so a login since the client's read is not a conflicting change.
+     */
+    public static boolean versionMatches(String ifMatch, long version) {
+        for (var candidate : ifMatch.split(",")) {
+            var tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) continue;
+
+            var separator = tag.indexOf('-');
+            var versionPart = tag.substring(1, separator > 0 ? separator : tag.length() - 1);
+            try {
+                if (Long.parseLong(versionPart) == version) return true;
+            } catch (NumberFormatException ignored) {
+                // Not a tag this service issued; it cannot match.
+            }
+        }
+        return false;
+    }
+
+    private static String pageState(PageResponse<?> page) {
+        return page.totalElements() + "|" + page.approximateTotal() + "|" + page.last();
+    }
+
+    private static String digest(List<UserVersion> versions, String suffix) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var version : versions) {
+                digest.update((version.id() + "|" + version.updatedAt() + "|" + version.lastLogin() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(suffix.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,115 @@
+package com.personal.portfolio.service;
+
+import com.personal.portfolio.dto.user.UserSummary;
+import com.personal.portfolio.model.UserDataFormat;
+import com.personal.portfolio.repository.UserFilter;
+import com.personal.portfolio.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Streams users matching a filter from a forward-only cursor straight to the response. Rows are written as they are
+ * read, so memory stays flat regardless of the export size, and a slow client simply blocks the write and with it the
+ * cursor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY = 1000;
+    private static final String CSV_HEADER = "id,fullName,email,role,enabled,locked,lastLogin,createdAt,updatedAt";
+
+    private final UserRepository userRepository;
+    private final JsonMapper jsonMapper;
+
+    @Transactional(readOnly = true)
+    public void export(UserFilter filter, UserDataFormat format, OutputStream outputStream) throws IOException {
+        var normalizedFilter = filter.normalized();
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long rows = 0;
+
+        try (var users = userRepository.streamAllByFilters(normalizedFilter.role(), normalizedFilter.enabled(),
+                normalizedFilter.locked(), normalizedFilter.search())) {
+            if (format == UserDataFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            for (var iterator = users.iterator(); iterator.hasNext(); ) {
+                var user = iterator.next();
+                if (format == UserDataFormat.CSV) {
+                    writeCsv(writer, user);
+                } else {
+                    writer.write(jsonMapper.writeValueAsString(user));
+                    writer.write('\n');
+                }
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} users as {}.", rows, format);
+    }
+
+    private static void writeCsv(Writer writer, UserSummary user) throws IOException {
+        writer.write(String.valueOf(user.id()));
+        writer.write(',');
+        writeCsvField(writer, user.fullName());
+        writer.write(',');
+        writeCsvField(writer, user.email());
+        writer.write(',');
+        writer.write(user.role().name());
+        writer.write(',');
+        writer.write(String.valueOf(user.enabled()));
+        writer.write(',');
+        writer.write(String.valueOf(user.locked()));
+        writer.write(',');
+        writeInstant(writer, user.lastLogin());
+        writer.write(',');
+        writeInstant(writer, user.createdAt());
+        writer.write(',');
+        writeInstant(writer, user.updatedAt());
+        writer.write('\n');
+    }
+
+    private static void writeInstant(Writer writer, Instant instant) throws IOException {
+        if (instant != null) {
+            writer.write(instant.toString());
+        }
+    }
+
+    /**
+     * Quotes values containing separators and prefixes values a spreadsheet would evaluate as a formula.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) return;
+
+        var formula = "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+        var quote = formula || value.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r');
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
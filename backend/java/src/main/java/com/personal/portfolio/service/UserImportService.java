@@ -0,0 +1,264 @@
+package com.personal.portfolio.service;
+
+import com.personal.portfolio.config.core.BoundedPasswordEncoder;
+import com.personal.portfolio.dto.user.CreateUserRequest;
+import com.personal.portfolio.dto.user.UserImportError;
+import com.personal.portfolio.dto.user.UserImportResult;
+import com.personal.portfolio.model.Role;
+import com.personal.portfolio.model.User;
+import com.personal.portfolio.model.UserDataFormat;
+import com.personal.portfolio.repository.UserRepository;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users from a streamed CSV or NDJSON body in chunks. Per chunk: one query finds emails that already exist,
+ * passwords are hashed in parallel on the password pool, and the rows are inserted in JDBC batches. Invalid or
+ * duplicate rows are reported by line and skipped; they never fail the rest of the import.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final List<String> REQUIRED_COLUMNS = List.of("fullName", "email", "password");
+
+    private final UserRepository userRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final UserCountCache userCountCache;
+
+    @Value("${app.users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public UserImportService(
+            UserRepository userRepository,
+            BoundedPasswordEncoder passwordEncoder,
+            Validator validator,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            UserCountCache userCountCache) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userCountCache = userCountCache;
+    }
+
+    public UserImportResult importUsers(InputStream body, UserDataFormat format) throws IOException {
+        var report = new ImportReport();
+        var seenEmails = new HashSet<String>();
+        var chunk = new ArrayList<ImportRow>(chunkSize);
+
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+
+                if (format == UserDataFormat.CSV && columns == null) {
+                    columns = readHeader(line);
+                    continue;
+                }
+
+                try {
+                    var request = format == UserDataFormat.CSV ? parseCsv(line, columns) : jsonMapper.readValue(line, CreateUserRequest.class);
+                    chunk.add(new ImportRow(lineNumber, request));
+                } catch (JacksonException e) {
+                    report.reject(lineNumber, null, "Malformed row: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    report.reject(lineNumber, null, "Malformed row: " + e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, seenEmails, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, seenEmails, report);
+        }
+
+        log.info("User import finished: {} imported, {} rejected.", report.imported, report.rejected);
+        return report.toResult();
+    }
+
+    private void importChunk(List<ImportRow> chunk, Set<String> seenEmails, ImportReport report) {
+        var candidates = new ArrayList<ImportRow>(chunk.size());
+        for (var row : chunk) {
+            var violations = validator.validate(row.request());
+            if (!violations.isEmpty()) {
+                report.reject(row.line(), row.request().email(), violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (!seenEmails.add(normalizeEmail(row.request().email()))) {
+                report.reject(row.line(), row.request().email(), "Duplicate email in import.");
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) return;
+
+        var existing = userRepository.findExistingEmails(candidates.stream().map(row -> row.request().email()).toList())
+                .stream()
+                .map(UserImportService::normalizeEmail)
+                .collect(Collectors.toSet());
+        var accepted = new ArrayList<ImportRow>(candidates.size());
+        for (var row : candidates) {
+            if (existing.contains(normalizeEmail(row.request().email()))) {
+                report.reject(row.line(), row.request().email(), "User with this email already exists.");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) return;
+
+        var hashes = passwordEncoder.encodeAll(accepted.stream().map(row -> row.request().password()).toList());
+        var users = new ArrayList<User>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            var request = accepted.get(i).request();
+            users.add(User.builder()
+                    .fullName(request.fullName())
+                    .email(request.email())
+                    .password(hashes.get(i))
+                    .role(request.role() == null ? Role.USER : request.role())
+                    .phoneNumber(request.phoneNumber())
+                    .profilePictureUrl(request.profilePictureUrl())
+                    .bio(request.bio())
+                    .enabled(false)
+                    .build());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+            report.imported += users.size();
+            // New users cannot be in the principal cache, so only the listing totals are stale.
+            userCountCache.invalidateAll();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import chunk rejected by a constraint: {}", e.getMostSpecificCause().getMessage());
+            accepted.forEach(row -> report.reject(row.line(), row.request().email(),
+                    "Rejected together with its chunk: a row conflicts with existing data."));
+        }
+    }
+
+    private static Map<String, Integer> readHeader(String line) {
+        var names = splitCsv(line);
+        var columns = new HashMap<String, Integer>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        var missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + missing);
+        }
+        return columns;
+    }
+
+    private static CreateUserRequest parseCsv(String line, Map<String, Integer> columns) {
+        var values = splitCsv(line);
+        var role = column(values, columns, "role");
+        return new CreateUserRequest(
+                column(values, columns, "fullName"),
+                column(values, columns, "email"),
+                column(values, columns, "password"),
+                role == null ? null : Role.fromDisplayName(role),
+                column(values, columns, "phoneNumber"),
+                column(values, columns, "profilePictureUrl"),
+                column(values, columns, "bio"));
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        var index = columns.get(name);
+        if (index == null || index >= values.size()) return null;
+        var value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV record following RFC 4180 quoting. Quoted fields may contain separators and doubled quotes but,
+     * since input is read line by line, not line breaks.
+     */
+    private static List<String> splitCsv(String line) {
+        var values = new ArrayList<String>();
+        var current = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field.");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportRow(long line, CreateUserRequest request) {
+    }
+
+    private static final class ImportReport {
+
+        private final List<UserImportError> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        void reject(long line, String email, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportError(line, email, message));
+            }
+        }
+
+        UserImportResult toResult() {
+            return new UserImportResult(imported, rejected, errors, rejected > errors.size());
+        }
+    }
+}
@@ -1,22 +1,39 @@
 package com.personal.portfolio.service;
 
+import com.personal.portfolio.event.UserChangedEvent;
+import com.personal.portfolio.event.UserChangedEvent.ChangeType;
+import com.personal.portfolio.dto.common.PageResponse;
+import com.personal.portfolio.dto.common.SliceResponse;
+import com.personal.portfolio.dto.user.UserResponse;
+import com.personal.portfolio.dto.user.UserSummary;
+import com.personal.portfolio.exception.PreconditionFailedException;
+import com.personal.portfolio.model.CountMode;
 import com.personal.portfolio.model.Role;
 import com.personal.portfolio.model.User;
+import com.personal.portfolio.model.UserPrincipal;
 import com.personal.portfolio.repository.PasswordResetTokenRepository;
+import com.personal.portfolio.repository.UserCursor;
+import com.personal.portfolio.repository.UserFilter;
 import com.personal.portfolio.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 
@@ -24,7 +41,9 @@ import java.util.Set;
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final String RELEVANCE = "relevance";
 
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of(
             "createdAt",
@@ -37,20 +56,72 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCountCache userCountCache;
+
+    @Value("${app.users.count-cache.approximate-cap:10000}")
+    private int approximateCountCap;
 
     @Override
     public UserDetails loadUserByUsername(String email) {
-        return userRepository.findByEmail(email).orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return userDetailsCache.get(email, key -> userRepository.findByEmail(key)
+                .map(UserPrincipal::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + key)));
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        var user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        publish(user, ChangeType.UPDATED);
+        log.info("Rehashed password for {} at the current BCrypt cost.", user.getEmail());
+        return UserPrincipal.from(userRepository.save(user));
     }
 
-    public Page<User> getUsers(Role role, Boolean enabled, Boolean locked, String search, int page, int size, String sortBy, Sort.Direction direction) {
-        var normalizedSearch = normalizeSearch(search);
-        var pageable = PageRequest.of(page, size, Sort.by(direction, resolveSortField(sortBy)));
-        return userRepository.findAllByFilters(role, enabled, locked, normalizedSearch, pageable);
+    public PageResponse<UserSummary> getUsers(UserFilter filter, CountMode countMode, int page, int size, String sortBy, Sort.Direction direction) {
+        var normalizedFilter = filter.normalized();
+        var users = findPage(normalizedFilter, page, size, sortBy, direction, userRepository::searchByRelevance, userRepository::findAllByFilters);
+        return withTotal(users, normalizedFilter, countMode);
     }
 
-    public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+    /**
+     * Computes the entity tag {@link #getUsers} would produce for the same arguments from IDs and timestamps only.
+     */
+    public String getUsersETag(UserFilter filter, CountMode countMode, int page, int size, String sortBy, Sort.Direction direction) {
+        var normalizedFilter = filter.normalized();
+        var versions = findPage(normalizedFilter, page, size, sortBy, direction, userRepository::searchVersionsByRelevance, userRepository::findVersionsByFilters);
+        return UserETags.forPage(withTotal(versions, normalizedFilter, countMode));
+    }
+
+    public SliceResponse<UserSummary> scrollUsers(UserFilter filter, String cursor, int size, String sortBy, Sort.Direction direction) {
+        var sortField = resolveSortField(sortBy);
+        var after = cursor == null || cursor.isBlank() ? null : UserCursor.decode(cursor);
+        if (after != null && (!after.sortField().equals(sortField) || after.direction() != direction)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order.");
+        }
+
+        var normalizedFilter = filter.normalized();
+        var users = userRepository.findNextByFilters(normalizedFilter, sortField, direction, after, size + 1);
+        var hasNext = users.size() > size;
+        var content = hasNext ? users.subList(0, size) : users;
+
+        String nextCursor = null;
+        if (hasNext) {
+            var last = content.getLast();
+            nextCursor = new UserCursor(sortField, direction, sortValue(last, sortField), last.id()).encode();
+        }
+        return new SliceResponse<>(content, size, hasNext, nextCursor);
+    }
+
+    public Optional<UserResponse> getUserById(Long id) {
+        return userRepository.findResponseById(id);
+    }
+
+    public Optional<String> getUserETag(Long id) {
+        return userRepository.findRevisionById(id).map(UserETags::forUser);
     }
 
     public boolean existsByEmail(String email) {
@@ -69,18 +140,28 @@ public class UserService implements UserDetailsService {
             user.setRole(Role.USER);
         }
         user.setLastLogin(null);
-        return userRepository.save(user);
+        var savedUser = userRepository.save(user);
+        publish(savedUser, ChangeType.CREATED);
+        return savedUser;
     }
 
+    /**
+     * Applies an edit if {@code ifMatch} (when given) still names the user's current version. The version check at
+     * commit catches edits that land between that comparison and the flush.
+     */
     @Transactional
-    public User updateUser(Long id, User updatedUser) {
+    public User updateUser(Long id, User updatedUser, String ifMatch) {
         var user = getUserOrThrow(id);
+        if (ifMatch != null && !UserETags.versionMatches(ifMatch, user.getVersion())) {
+            throw new PreconditionFailedException("User " + id + " has changed since it was read.");
+        }
 
         user.setFullName(updatedUser.getFullName());
         user.setPhoneNumber(updatedUser.getPhoneNumber());
         user.setProfilePictureUrl(updatedUser.getProfilePictureUrl());
         user.setBio(updatedUser.getBio());
 
+        publish(user, ChangeType.UPDATED);
         return userRepository.save(user);
     }
 
@@ -89,20 +170,29 @@ public class UserService implements UserDetailsService {
         var user = getUserOrThrow(id);
         passwordResetTokenRepository.deleteAllByUser(user);
         userRepository.delete(user);
+        publish(user, ChangeType.DELETED);
         log.info("User deleted successfully with ID: {}", id);
     }
 
+    /**
+     * Flips the lock in a single statement, so concurrent toggles serialize on the row instead of overwriting each
+     * other, and reads the result back afterwards.
+     */
     @Transactional
-    public User toggleLock(Long id) {
-        var user = getUserOrThrow(id);
-        user.setLocked(!user.isLocked());
-        return userRepository.save(user);
+    public UserResponse toggleLock(Long id) {
+        if (userRepository.toggleLock(id, Instant.now()) == 0) {
+            throw new UsernameNotFoundException("User not found with ID: " + id);
+        }
+        var user = userRepository.findResponseById(id).orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + id));
+        eventPublisher.publishEvent(new UserChangedEvent(user.id(), user.email(), ChangeType.LOCK_CHANGED));
+        return user;
     }
 
     @Transactional
     public User changeUserRole(Long id, Role role) {
         var user = getUserOrThrow(id);
         user.setRole(role);
+        publish(user, ChangeType.ROLE_CHANGED);
         return userRepository.save(user);
     }
 
@@ -110,18 +200,81 @@ public class UserService implements UserDetailsService {
     public User activateUserAccount(Long id) {
         var user = getUserOrThrow(id);
         user.setEnabled(true);
+        publish(user, ChangeType.ACTIVATED);
         return userRepository.save(user);
     }
 
+    private void publish(User user, ChangeType changeType) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail(), changeType));
+    }
+
     private User getUserOrThrow(Long id) {
         return userRepository.findById(id).orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + id));
     }
 
-    private String normalizeSearch(String search) {
-        if (search == null || search.isBlank()) {
-            return null;
+    private long countUsers(UserFilter filter) {
+        return userRepository.countByFilters(filter.role(), filter.enabled(), filter.locked(), filter.search());
+    }
+
+    private <T> Slice<T> findPage(UserFilter filter, int page, int size, String sortBy, Sort.Direction direction,
+                                  FilteredQuery<T> relevanceQuery, FilteredQuery<T> sortedQuery) {
+        if (RELEVANCE.equals(sortBy)) {
+            if (filter.search() == null) {
+                throw new IllegalArgumentException("Sorting by relevance requires a search term.");
+            }
+            return relevanceQuery.find(filter.role(), filter.enabled(), filter.locked(), filter.search(), PageRequest.of(page, size));
         }
-        return search.trim();
+        return sortedQuery.find(filter.role(), filter.enabled(), filter.locked(), filter.search(),
+                PageRequest.of(page, size, Sort.by(direction, resolveSortField(sortBy))));
+    }
+
+    private <T> PageResponse<T> withTotal(Slice<T> content, UserFilter filter, CountMode countMode) {
+        return switch (countMode) {
+            case EXACT -> PageResponse.from(content, userCountCache.get(filter, this::countUsers), false);
+            case APPROXIMATE -> approximatePage(content, filter);
+            case NONE -> PageResponse.from(content, null, false);
+        };
+    }
+
+    /**
+     * Counts exactly up to {@code approximate-cap} ids. Past the cap the total is an estimate: the cap, raised to at
+     * least one row beyond the current page, since a client paging that deep has seen that many rows exist. The cap
+     * is remembered per filter so large listings are not re-scanned on every request.
+     */
+    private <T> PageResponse<T> approximatePage(Slice<T> content, UserFilter filter) {
+        var cached = userCountCache.getIfPresent(filter);
+        if (cached != null) {
+            return PageResponse.from(content, cached, false);
+        }
+
+        var seen = content.getPageable().getOffset() + content.getNumberOfElements();
+        if (content.hasContent() && !content.hasNext()) {
+            userCountCache.put(filter, seen);
+            return PageResponse.from(content, seen, false);
+        }
+
+        var lowerBound = userCountCache.getLowerBoundIfPresent(filter);
+        if (lowerBound == null) {
+            var ids = userRepository.findIdsByFilters(filter.role(), filter.enabled(), filter.locked(), filter.search(), Limit.of(approximateCountCap));
+            if (ids.size() < approximateCountCap) {
+                userCountCache.put(filter, ids.size());
+                return PageResponse.from(content, (long) ids.size(), false);
+            }
+            lowerBound = (long) approximateCountCap;
+            userCountCache.putLowerBound(filter, lowerBound);
+        }
+        return PageResponse.from(content, Math.max(lowerBound, content.hasNext() ? seen + 1 : seen), true);
+    }
+
+    private static Comparable<?> sortValue(UserSummary user, String sortField) {
+        return switch (sortField) {
+            case "createdAt" -> user.createdAt();
+            case "updatedAt" -> user.updatedAt();
+            case "fullName" -> user.fullName();
+            case "email" -> user.email();
+            case "lastLogin" -> user.lastLogin();
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        };
     }
 
     private String resolveSortField(String sortBy) {
@@ -130,4 +283,9 @@ public class UserService implements UserDetailsService {
         }
         return sortBy;
     }
+
+    @FunctionalInterface
+    private interface FilteredQuery<T> {
+        Slice<T> find(Role role, Boolean enabled, Boolean locked, String search, Pageable pageable);
+    }
 }
@@ -0,0 +1,58 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Fills {@code user_search_terms} for users created before the table existed. The term extraction is a frozen copy of
+ * {@code User.searchTermsFor} as of this version: a migration must produce the same rows on every database it ever
+ * runs on, whatever the entity does later.
+ */
+public class V6__backfill_user_search_terms extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        var connection = context.getConnection();
+        try (var select = connection.createStatement();
+             var insert = connection.prepareStatement("INSERT INTO user_search_terms (user_id, term) VALUES (?, ?)")) {
+            select.setFetchSize(BATCH_SIZE);
+            var pending = 0;
+            try (var users = select.executeQuery("SELECT id, full_name, email FROM users")) {
+                while (users.next()) {
+                    var userId = users.getLong("id");
+                    for (var term : searchTermsFor(users.getString("full_name"), users.getString("email"))) {
+                        insert.setLong(1, userId);
+                        insert.setString(2, term);
+                        insert.addBatch();
+                        if (++pending % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static Set<String> searchTermsFor(String fullName, String email) {
+        var terms = new HashSet<String>();
+        for (var value : new String[]{fullName, email}) {
+            if (value == null || value.isBlank()) continue;
+            var normalized = value.trim().toLowerCase(Locale.ROOT);
+            terms.add(normalized);
+            Arrays.stream(TERM_SEPARATOR.split(normalized))
+                    .filter(term -> !term.isEmpty())
+                    .forEach(terms::add);
+        }
+        return terms;
+    }
+}
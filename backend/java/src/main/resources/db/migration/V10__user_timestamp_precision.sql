@@ -0,0 +1,2 @@
+ALTER TABLE users MODIFY COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+ALTER TABLE users MODIFY COLUMN last_login TIMESTAMP(6) NULL;
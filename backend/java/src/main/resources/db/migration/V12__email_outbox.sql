@@ -0,0 +1,21 @@
+CREATE TABLE email_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    message_id VARCHAR(36) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    cc TEXT,
+    bcc TEXT,
+    reply_to VARCHAR(255),
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN NOT NULL DEFAULT FALSE,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    send_at TIMESTAMP(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    sent_at TIMESTAMP(6) NULL,
+    CONSTRAINT pk_email_outbox PRIMARY KEY (id),
+    CONSTRAINT uc_email_outbox_message_id UNIQUE (message_id)
+);
+
+CREATE INDEX idx_email_outbox_status_send_at ON email_outbox (status, send_at);
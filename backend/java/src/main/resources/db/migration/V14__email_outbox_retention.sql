@@ -0,0 +1,2 @@
+-- Bodies are cleared once a message is sent or dead-lettered, so they may be NULL.
+ALTER TABLE email_outbox MODIFY COLUMN body TEXT NULL;
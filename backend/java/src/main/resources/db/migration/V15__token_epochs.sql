@@ -0,0 +1,7 @@
+CREATE TABLE token_epochs (
+    email VARCHAR(255) NOT NULL,
+    tokens_issued_before TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_token_epochs PRIMARY KEY (email)
+);
+
+CREATE INDEX idx_token_epoch_issued_before ON token_epochs (tokens_issued_before);
@@ -0,0 +1,2 @@
+ALTER TABLE jwt_keys ADD COLUMN algorithm VARCHAR(10) NOT NULL DEFAULT 'HS512';
+ALTER TABLE jwt_keys ADD COLUMN public_key TEXT NULL;
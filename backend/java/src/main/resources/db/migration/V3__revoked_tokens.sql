@@ -0,0 +1,10 @@
+CREATE TABLE revoked_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    jti VARCHAR(36) NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_revoked_tokens PRIMARY KEY (id),
+    CONSTRAINT uc_revoked_token_jti UNIQUE (jti)
+);
+
+CREATE INDEX idx_revoked_token_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,4 @@
+CREATE INDEX idx_user_created_at_id ON users (created_at, id);
+CREATE INDEX idx_user_updated_at_id ON users (updated_at, id);
+CREATE INDEX idx_user_full_name_id ON users (full_name, id);
+CREATE INDEX idx_user_last_login_id ON users (last_login, id);
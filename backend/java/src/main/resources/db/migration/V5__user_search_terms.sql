@@ -0,0 +1,8 @@
+CREATE TABLE user_search_terms (
+    user_id BIGINT NOT NULL,
+    term VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_user_search_terms PRIMARY KEY (user_id, term),
+    CONSTRAINT fk_user_search_terms_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_user_search_term ON user_search_terms (term, user_id);
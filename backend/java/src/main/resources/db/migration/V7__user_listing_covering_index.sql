@@ -0,0 +1,4 @@
+CREATE INDEX idx_user_listing_covering ON users (created_at, id, role, enabled, locked, last_login, updated_at, full_name, email);
+
+-- The covering index starts with (created_at, id), so it serves every lookup the V4 index did.
+DROP INDEX idx_user_created_at_id ON users;
@@ -0,0 +1,6 @@
+CREATE TABLE maintenance_checkpoints (
+    job_name VARCHAR(100) NOT NULL,
+    last_id BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_maintenance_checkpoints PRIMARY KEY (job_name)
+);
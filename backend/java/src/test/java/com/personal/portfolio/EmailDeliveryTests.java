@@ -0,0 +1,281 @@
+package com.personal.portfolio;
+
+import com.jayway.jsonpath.JsonPath;
+import com.personal.portfolio.model.EmailOutboxMessage;
+import com.personal.portfolio.model.EmailStatus;
+import com.personal.portfolio.repository.EmailOutboxRepository;
+import com.personal.portfolio.service.EmailOutboxDispatcher;
+import com.personal.portfolio.service.EmailService;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.Provider;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the real email services against an in-process SMTP {@link Transport} that accepts every recipient except those
+ * starting with {@code fail}. The outbox poller is only triggered by hand (see {@code application-test.yaml}).
+ */
+@SpringBootTest(properties = {
+        "app.email.outbox.max-attempts=2",
+        "app.email.outbox.initial-backoff=0"
+})
+@ActiveProfiles("test")
+class EmailDeliveryTests {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+        emailOutboxRepository.deleteAll();
+        StubTransport.reset();
+    }
+
+    @Test
+    void queuedEmailCommitsWithCallerAndIsDelivered() {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        var rolledBack = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return emailService.sendEmail("target@example.com", "Subject", "Body", null, null, null, false);
+        });
+        var committed = transactionTemplate.execute(status ->
+                emailService.sendEmail("target@example.com", "Subject", "Body", null, null, null, false));
+
+        assertThat(emailService.findQueuedEmail(rolledBack)).isEmpty();
+        assertThat(status(committed)).isEqualTo(EmailStatus.PENDING);
+
+        emailOutboxDispatcher.poll();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> status(committed) == EmailStatus.SENT);
+        var sent = emailService.findQueuedEmail(committed).orElseThrow();
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+        assertThat(sent.getBody()).isNull();
+        assertThat(StubTransport.delivered).containsExactly("target@example.com");
+    }
+
+    @Test
+    void failingEmailIsRetriedThenDeadLettered() {
+        var messageId = emailService.sendEmail("fail@example.com", "Subject", "Body", null, null, null, false);
+
+        emailOutboxDispatcher.poll();
+        await().atMost(Duration.ofSeconds(5)).until(() -> emailService.findQueuedEmail(messageId)
+                .filter(message -> message.getStatus() == EmailStatus.PENDING && message.getAttempts() == 1)
+                .isPresent());
+        assertThat(emailService.findQueuedEmail(messageId).orElseThrow().getLastError()).isNotBlank();
+
+        emailOutboxDispatcher.poll();
+        await().atMost(Duration.ofSeconds(5)).until(() -> status(messageId) == EmailStatus.DEAD);
+        var dead = emailService.findQueuedEmail(messageId).orElseThrow();
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        assertThat(dead.getBody()).isNull();
+        assertThat(dead.getLastError()).isNotBlank();
+        assertThat(StubTransport.delivered).isEmpty();
+    }
+
+    @Test
+    void sentPasswordResetEmailKeepsNoTokenAndIsPurged() {
+        var token = emailService.generatePasswordResetToken();
+        emailService.sendPasswordResetEmail("reset@example.com", token);
+        var messageId = emailOutboxRepository.findAll().getFirst().getMessageId();
+        var pending = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .messageId(UUID.randomUUID().toString())
+                .recipient("later@example.com")
+                .subject("Subject")
+                .body("Body")
+                .status(EmailStatus.PENDING)
+                .sendAt(Instant.now().plus(Duration.ofDays(30)))
+                .build());
+
+        emailOutboxDispatcher.poll();
+        await().atMost(Duration.ofSeconds(5)).until(() -> status(messageId) == EmailStatus.SENT);
+
+        var sent = emailService.findQueuedEmail(messageId).orElseThrow();
+        assertThat(sent.getBody()).isNull();
+        assertThat(sent.getTextBody()).isNull();
+
+        assertThat(emailOutboxRepository.deleteFinishedBefore(Instant.now().plusSeconds(1))).isOne();
+        assertThat(emailService.findQueuedEmail(messageId)).isEmpty();
+        assertThat(emailOutboxRepository.findById(pending.getId())).isPresent();
+    }
+
+    @Test
+    void expiredClaimIsReleasedAndSentAgain() {
+        var messageId = UUID.randomUUID().toString();
+        emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .messageId(messageId)
+                .recipient("stranded@example.com")
+                .subject("Subject")
+                .body("Body")
+                .status(EmailStatus.SENDING)
+                .attempts(1)
+                .sendAt(Instant.now().minusSeconds(1))
+                .build());
+
+        emailOutboxDispatcher.poll();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> status(messageId) == EmailStatus.SENT);
+        assertThat(emailService.findQueuedEmail(messageId).orElseThrow().getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void staleWorkerCannotOverwriteNewerClaim() {
+        var messageId = UUID.randomUUID().toString();
+        var message = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .messageId(messageId)
+                .recipient("target@example.com")
+                .subject("Subject")
+                .body("Body")
+                .status(EmailStatus.SENDING)
+                .attempts(2)
+                .sendAt(Instant.now().plusSeconds(300))
+                .build());
+
+        // A worker from attempt 1 finishing late must leave attempt 2's claim alone.
+        assertThat(emailOutboxRepository.markSent(message.getId(), 1, Instant.now())).isZero();
+        assertThat(emailOutboxRepository.markRetry(message.getId(), 1, Instant.now(), "late")).isZero();
+        assertThat(status(messageId)).isEqualTo(EmailStatus.SENDING);
+
+        assertThat(emailOutboxRepository.markSent(message.getId(), 2, Instant.now())).isOne();
+        assertThat(status(messageId)).isEqualTo(EmailStatus.SENT);
+    }
+
+    @Test
+    void bulkEmailJobReportsPerRecipientOutcomes() throws Exception {
+        var response = mockMvc.perform(post("/api/email/send-bulk")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("recipients", "a@example.com", "b@example.com", "c@example.com", "d@example.com",
+                                "e@example.com", "fail@example.com", "a@example.com")
+                        .param("subject", "Subject")
+                        .param("body", "Body"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.total").value(6))
+                .andReturn().getResponse();
+        var jobId = JsonPath.<String>read(response.getContentAsString(), "$.jobId");
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/email/bulk/" + jobId);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> "COMPLETED".equals(JsonPath.read(mockMvc.perform(get("/api/email/bulk/{jobId}", jobId)
+                        .with(user("admin@example.com").roles("ADMIN")))
+                .andReturn().getResponse().getContentAsString(), "$.state")));
+
+        mockMvc.perform(get("/api/email/bulk/{jobId}", jobId)
+                        .with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sent").value(5))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.failures[0].recipient").value("fail@example.com"))
+                .andExpect(jsonPath("$.failuresTruncated").value(false));
+        assertThat(StubTransport.delivered).containsExactlyInAnyOrder(
+                "a@example.com", "b@example.com", "c@example.com", "d@example.com", "e@example.com");
+        // Workers reuse their connection instead of opening one per message.
+        assertThat(StubTransport.connections.get()).isBetween(1, 4);
+
+        mockMvc.perform(get("/api/email/bulk/{jobId}", "missing")
+                        .with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isNotFound());
+    }
+
+    private EmailStatus status(String messageId) {
+        return emailService.findQueuedEmail(messageId).map(EmailOutboxMessage::getStatus).orElse(null);
+    }
+
+    @TestConfiguration
+    static class StubMailConfiguration {
+
+        @Bean
+        JavaMailSender javaMailSender() throws NoSuchProviderException {
+            var session = Session.getInstance(new Properties());
+            session.setProvider(new Provider(Provider.Type.TRANSPORT, "smtp", StubTransport.class.getName(), "test", "1"));
+            var sender = new JavaMailSenderImpl();
+            sender.setSession(session);
+            return sender;
+        }
+    }
+
+    public static class StubTransport extends Transport {
+
+        static final Queue<String> delivered = new ConcurrentLinkedQueue<>();
+        static final AtomicInteger connections = new AtomicInteger();
+
+        public StubTransport(Session session, URLName urlName) {
+            super(session, urlName);
+        }
+
+        static void reset() {
+            delivered.clear();
+            connections.set(0);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password) {
+            connections.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+            for (var address : addresses) {
+                if (address.toString().startsWith("fail")) {
+                    throw new SendFailedException("Recipient rejected: " + address);
+                }
+            }
+            for (var address : addresses) {
+                delivered.add(address.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.personal.portfolio;
+
+import com.personal.portfolio.config.core.BcryptProperties;
+import com.personal.portfolio.config.core.BoundedPasswordEncoder;
+import com.personal.portfolio.model.Role;
+import com.personal.portfolio.model.User;
+import com.personal.portfolio.repository.PasswordResetTokenRepository;
+import com.personal.portfolio.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs logins against a password encoder with one hashing thread and one queue slot, whose hashing can be held open
+ * from the test, so the pool can be filled deterministically.
+ */
+@SpringBootTest(properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "bcrypt.executor-threads=1",
+        "bcrypt.queue-capacity=1",
+        "bcrypt.retry-after-seconds=7"
+})
+@ActiveProfiles("test")
+class PasswordHashingOverloadTests {
+
+    private static final String LOGIN = """
+            {
+              "email": "overload@example.com",
+              "password": "Password123"
+            }
+            """;
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(User.builder()
+                .fullName("Overload User")
+                .email("overload@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        BlockingPasswordEncoder.open();
+    }
+
+    @Test
+    void loginBeyondPoolAndQueueIsRejectedWithRetryAfter() throws Exception {
+        BlockingPasswordEncoder.close();
+
+        // The first login takes the only hashing thread and the second the only queue slot.
+        var first = CompletableFuture.supplyAsync(this::login);
+        assertThat(BlockingPasswordEncoder.entered.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        var second = CompletableFuture.supplyAsync(this::login);
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> meterRegistry.get("auth.password.queue.size").gauge().value() == 1);
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LOGIN))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+                .andExpect(jsonPath("$.title").value("Too Many Requests"));
+
+        BlockingPasswordEncoder.open();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+    }
+
+    private int login() {
+        try {
+            return mockMvc.perform(post("/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(LOGIN))
+                    .andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class BlockingEncoderConfiguration {
+
+        @Bean
+        BoundedPasswordEncoder passwordEncoder(BcryptProperties bcryptProperties, MeterRegistry meterRegistry) {
+            return new BoundedPasswordEncoder(
+                    new BlockingPasswordEncoder(),
+                    bcryptProperties.executorThreads(),
+                    bcryptProperties.queueCapacity(),
+                    bcryptProperties.retryAfterSeconds(),
+                    meterRegistry);
+        }
+    }
+
+    /**
+     * A cheap BCrypt encoder whose {@code matches} waits while the gate is closed.
+     */
+    static final class BlockingPasswordEncoder implements PasswordEncoder {
+
+        static final Semaphore entered = new Semaphore(0);
+        private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+        private final PasswordEncoder delegate = new BCryptPasswordEncoder(4);
+
+        static void close() {
+            entered.drainPermits();
+            gate = new CountDownLatch(1);
+        }
+
+        static void open() {
+            gate.countDown();
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            entered.release();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+    }
+}
@@ -1,38 +1,79 @@
 package com.personal.portfolio;
 
+import com.jayway.jsonpath.JsonPath;
+import com.personal.portfolio.model.EmailOutboxMessage;
+import com.personal.portfolio.model.EmailStatus;
 import com.personal.portfolio.model.PasswordResetToken;
 import com.personal.portfolio.model.Role;
 import com.personal.portfolio.model.User;
+import com.personal.portfolio.repository.EmailOutboxRepository;
+import com.personal.portfolio.repository.JwtKeyRepository;
 import com.personal.portfolio.repository.PasswordResetTokenRepository;
+import com.personal.portfolio.repository.UserFilter;
 import com.personal.portfolio.repository.UserRepository;
 import com.personal.portfolio.service.EmailService;
+import com.personal.portfolio.service.EmailTemplates;
+import com.personal.portfolio.service.InactiveUserMaintenanceJob;
+import com.personal.portfolio.service.JwtService;
+import com.personal.portfolio.service.LastLoginBuffer;
+import com.personal.portfolio.service.TokenRevocationService;
+import com.personal.portfolio.service.UserCountCache;
+import com.personal.portfolio.service.UserDetailsCache;
+import com.personal.portfolio.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.users.count-cache.approximate-cap=3")
 @ActiveProfiles("test")
 class PortfolioApplicationTests {
 
@@ -50,6 +91,39 @@ class PortfolioApplicationTests {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtKeyRepository jwtKeyRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private UserCountCache userCountCache;
+
+    @Autowired
+    private InactiveUserMaintenanceJob inactiveUserMaintenanceJob;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmailTemplates emailTemplates;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @MockitoBean
     private EmailService emailService;
 
@@ -60,6 +134,8 @@ class PortfolioApplicationTests {
                 .build();
         passwordResetTokenRepository.deleteAll();
         userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+        userCountCache.invalidateAll();
         given(emailService.generatePasswordResetToken()).willReturn("known-reset-token");
     }
 
@@ -88,6 +164,114 @@ class PortfolioApplicationTests {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void sendEmailIsQueuedAndAccepted() throws Exception {
+        given(emailService.sendEmail(eq("target@example.com"), eq("Subject"), eq("Body"), any(), any(), any(), anyBoolean()))
+                .willReturn("queued-message-id");
+
+        mockMvc.perform(post("/api/email/send")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("recipient", "target@example.com")
+                        .param("subject", "Subject")
+                        .param("body", "Body"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/email/queued-message-id"))
+                .andExpect(jsonPath("$.messageId").value("queued-message-id"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void attachmentsArePassedAsStreamsNotBytes() throws Exception {
+        mockMvc.perform(multipart("/api/email/send-with-attachment")
+                        .file(new MockMultipartFile("attachments", "notes.txt", MediaType.TEXT_PLAIN_VALUE, "hello".getBytes()))
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("recipient", "target@example.com")
+                        .param("subject", "Subject")
+                        .param("body", "Body"))
+                .andExpect(status().isOk());
+
+        verify(emailService).sendEmailWithAttachment(eq("target@example.com"), eq("Subject"), eq("Body"), any(), any(), any(), anyBoolean(),
+                argThat(attachments -> attachments.keySet().equals(Set.of("notes.txt"))));
+    }
+
+    @Test
+    void emailTemplatesRenderBothAlternativesAndMergeRecipients() {
+        var reset = emailTemplates.render("password-reset", Map.of("token", "abc123", "resetLink", "https://example.com/reset?token=abc123"));
+        assertThat(reset.text()).contains("abc123").doesNotContain("<");
+        assertThat(reset.html()).contains("<code", "abc123", "href=\"https://example.com/reset?token=abc123\"");
+
+        var prepared = emailTemplates.prepare("bulk", Map.of("subject", "News", "body", "Fish & chips"), Set.of("recipient"));
+        var first = prepared.merge(Map.of("recipient", "first@example.com"));
+        var second = prepared.merge(Map.of("recipient", "<second@example.com>"));
+        assertThat(first.text()).contains("Fish & chips", "sent to first@example.com.");
+        assertThat(first.html()).contains("Fish &amp; chips", "first@example.com").doesNotContain("{{");
+        assertThat(second.html()).contains("&lt;second@example.com&gt;").doesNotContain("first@example.com");
+    }
+
+    @Test
+    void scheduledEmailIsClaimedOnlyOnceDue() {
+        var sendAt = Instant.now().plus(Duration.ofDays(30));
+        var scheduled = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .messageId(UUID.randomUUID().toString())
+                .recipient("later@example.com")
+                .subject("Later")
+                .body("Body")
+                .status(EmailStatus.PENDING)
+                .sendAt(sendAt)
+                .build());
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        var early = transactionTemplate.execute(status ->
+                emailOutboxRepository.lockDue(EmailStatus.PENDING, sendAt.minusSeconds(1), Limit.of(100)));
+        assertThat(early).extracting(EmailOutboxMessage::getId).doesNotContain(scheduled.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var due = emailOutboxRepository.lockDue(EmailStatus.PENDING, sendAt, Limit.of(100));
+            assertThat(due).extracting(EmailOutboxMessage::getId).contains(scheduled.getId());
+            emailOutboxRepository.claimAll(List.of(scheduled.getId()), sendAt.plusSeconds(300));
+        });
+
+        var claimed = emailOutboxRepository.findById(scheduled.getId()).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(EmailStatus.SENDING);
+        assertThat(claimed.getAttempts()).isEqualTo(1);
+        emailOutboxRepository.delete(claimed);
+    }
+
+    @Test
+    void concurrentPollersLockDisjointBatches() {
+        emailOutboxRepository.deleteAll();
+        var sendAt = Instant.now().plus(Duration.ofDays(30));
+        var first = saveScheduledEmail(sendAt);
+        var second = saveScheduledEmail(sendAt.plusSeconds(1));
+        var now = sendAt.plusSeconds(2);
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var held = emailOutboxRepository.lockDue(EmailStatus.PENDING, now, Limit.of(1));
+            assertThat(held).extracting(EmailOutboxMessage::getId).containsExactly(first.getId());
+
+            // A second poller skips the row this transaction holds instead of waiting for it.
+            var other = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(otherStatus ->
+                            emailOutboxRepository.lockDue(EmailStatus.PENDING, now, Limit.of(2))))
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+            assertThat(other).extracting(EmailOutboxMessage::getId).containsExactly(second.getId());
+        });
+
+        emailOutboxRepository.deleteAllById(List.of(first.getId(), second.getId()));
+    }
+
+    private EmailOutboxMessage saveScheduledEmail(Instant sendAt) {
+        return emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .messageId(UUID.randomUUID().toString())
+                .recipient("later@example.com")
+                .subject("Later")
+                .body("Body")
+                .status(EmailStatus.PENDING)
+                .sendAt(sendAt)
+                .build());
+    }
+
     @Test
     void userResponsesNeverExposePasswords() throws Exception {
         var savedUser = userRepository.save(User.builder()
@@ -154,6 +338,353 @@ class PortfolioApplicationTests {
                 .andExpect(jsonPath("$.last").value(true));
     }
 
+    @Test
+    void userSearchMatchesTermPrefixesRanksByRelevanceAndFollowsRenames() throws Exception {
+        var users = userRepository.saveAll(List.of(
+                        new String[]{"Anna Smith", "anna.smith@example.com"},
+                        new String[]{"Smithers Zed", "zed@example.com"},
+                        new String[]{"Carl Blacksmith", "carl@example.com"},
+                        new String[]{"Bob Jones", "bob@example.com"})
+                .stream()
+                .map(user -> User.builder()
+                        .fullName(user[0])
+                        .email(user[1])
+                        .password("Password123")
+                        .role(Role.USER)
+                        .enabled(true)
+                        .build())
+                .toList());
+
+        // "smi" starts a term of Anna Smith but only a whole value for Smithers Zed, who therefore ranks first;
+        // Blacksmith merely contains it and is not a match.
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("search", "Smi")
+                        .param("sortBy", "relevance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].fullName").value("Smithers Zed"))
+                .andExpect(jsonPath("$.content[1].fullName").value("Anna Smith"));
+
+        var bob = users.get(3);
+        userService.updateUser(bob.getId(), User.builder().fullName("Bob Smithson").build(), null);
+
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("search", "smiths")
+                        .param("sortBy", "email")
+                        .param("direction", "ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].fullName", containsInAnyOrder("Bob Smithson")));
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("search", "jones"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void userListingCountModes() throws Exception {
+        userRepository.save(User.builder()
+                .fullName("Counted User")
+                .email("counted@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("count", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.totalElements").value(nullValue()))
+                .andExpect(jsonPath("$.last").value(true));
+
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("count", "APPROXIMATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.approximateTotal").value(false));
+
+        mockMvc.perform(post("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "fullName": "Second User",
+                                  "email": "second@example.com",
+                                  "password": "Password123"
+                                }
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void approximateTotalPastCapIsEstimatedFromPagePositionAndCached() throws Exception {
+        var password = passwordEncoder.encode("Password123");
+        for (int i = 1; i <= 7; i++) {
+            userRepository.save(User.builder()
+                    .fullName("Estimated User " + i)
+                    .email("estimated" + i + "@example.com")
+                    .password(password)
+                    .role(Role.USER)
+                    .enabled(true)
+                    .build());
+        }
+
+        assertApproximateTotal(0, 3, true);
+        assertThat(userCountCache.getLowerBoundIfPresent(new UserFilter(null, null, null, null))).isEqualTo(3);
+        // Deeper pages prove more rows exist than the cap.
+        assertApproximateTotal(2, 7, true);
+        // The last page makes the total exact, and it is cached as such.
+        assertApproximateTotal(3, 7, false);
+        assertApproximateTotal(0, 7, false);
+    }
+
+    private void assertApproximateTotal(int page, int totalElements, boolean approximate) throws Exception {
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("count", "APPROXIMATE")
+                        .param("page", String.valueOf(page))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(totalElements))
+                .andExpect(jsonPath("$.totalPages").value(Math.ceilDiv(totalElements, 2)))
+                .andExpect(jsonPath("$.approximateTotal").value(approximate));
+    }
+
+    @Test
+    void userScrollFollowsCursorAcrossSlices() throws Exception {
+        for (var name : new String[]{"alpha", "bravo", "charlie"}) {
+            userRepository.save(User.builder()
+                    .fullName(name + " user")
+                    .email(name + "@example.com")
+                    .password(passwordEncoder.encode("Password123"))
+                    .role(Role.USER)
+                    .enabled(true)
+                    .build());
+        }
+
+        var cursor = JsonPath.<String>read(mockMvc.perform(get("/api/users/scroll")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("size", "2")
+                        .param("sortBy", "email")
+                        .param("direction", "ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].email").value("alpha@example.com"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/users/scroll")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("size", "2")
+                        .param("sortBy", "email")
+                        .param("direction", "ASC")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].email").value("charlie@example.com"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/users/scroll")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("sortBy", "fullName")
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void userExportStreamsFilteredRowsAsCsv() throws Exception {
+        userRepository.save(User.builder()
+                .fullName("Export, Admin")
+                .email("export.admin@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        userRepository.save(User.builder()
+                .fullName("=Export User")
+                .email("export.user@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+
+        var result = mockMvc.perform(get("/api/users/export")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("search", "export")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("users.csv")))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = csv.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("id,fullName,email");
+        assertThat(lines.get(1)).contains("\"Export, Admin\"").doesNotContain("Password");
+        assertThat(lines.get(2)).contains("\"'=Export User\"");
+    }
+
+    @Test
+    void userImportCreatesValidRowsAndReportsRejectedOnes() throws Exception {
+        userRepository.save(User.builder()
+                .fullName("Existing User")
+                .email("existing@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        var cachedPrincipal = userService.loadUserByUsername("existing@example.com");
+        var countFilter = new UserFilter(null, null, null, null);
+        userCountCache.put(countFilter, 1);
+
+        mockMvc.perform(post("/api/users/import")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .contentType("text/csv")
+                        .content("""
+                                fullName,email,password,role
+                                "Imported, User",imported@example.com,Password123,Admin
+                                Existing User,existing@example.com,Password123,
+                                Second Import,imported@example.com,Password123,
+                                Bad Email,not-an-email,Password123,
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.errors[*].line", containsInAnyOrder(3, 4, 5)));
+
+        var imported = userRepository.findByEmail("imported@example.com").orElseThrow();
+        assertThat(imported.getFullName()).isEqualTo("Imported, User");
+        assertThat(imported.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(passwordEncoder.matches("Password123", imported.getPassword())).isTrue();
+
+        // The import changes totals but no existing principal.
+        assertThat(userCountCache.getIfPresent(countFilter)).isNull();
+        assertThat(userService.loadUserByUsername("existing@example.com")).isSameAs(cachedPrincipal);
+    }
+
+    @Test
+    void batchLockUpdatesUsersMatchingFilter() throws Exception {
+        for (var name : List.of("batch-one", "batch-two", "other")) {
+            userRepository.save(User.builder()
+                    .fullName(name.replace('-', ' '))
+                    .email(name + "@example.com")
+                    .password(passwordEncoder.encode("Password123"))
+                    .role(Role.USER)
+                    .enabled(true)
+                    .build());
+        }
+
+        mockMvc.perform(post("/api/users/batch/lock")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .param("locked", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"search\":\"batch\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertThat(userRepository.findByEmail("batch-one@example.com").orElseThrow().isLocked()).isTrue();
+        assertThat(userRepository.findByEmail("batch-two@example.com").orElseThrow().isLocked()).isTrue();
+        assertThat(userRepository.findByEmail("other@example.com").orElseThrow().isLocked()).isFalse();
+
+        mockMvc.perform(post("/api/users/batch/delete")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void userResourcesAnswerConditionalRequests() throws Exception {
+        var savedUser = userRepository.save(User.builder()
+                .fullName("Polled User")
+                .email("polled@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+
+        var userETag = mockMvc.perform(get("/api/users/{id}", savedUser.getId())
+                        .with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var listETag = mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/users/{id}", savedUser.getId())
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .header(HttpHeaders.IF_NONE_MATCH, userETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/users/{id}/lock", savedUser.getId())
+                        .with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/{id}", savedUser.getId())
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .header(HttpHeaders.IF_NONE_MATCH, userETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locked").value(true));
+        mockMvc.perform(get("/api/users")
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userUpdateWithStaleIfMatchIsRejected() throws Exception {
+        var savedUser = userRepository.save(User.builder()
+                .fullName("Edited User")
+                .email("edited@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+
+        var readETag = mockMvc.perform(get("/api/users/{id}", savedUser.getId())
+                        .with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/users/{id}", savedUser.getId())
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .header(HttpHeaders.IF_MATCH, readETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"First Editor\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+
+        mockMvc.perform(put("/api/users/{id}", savedUser.getId())
+                        .with(user("admin@example.com").roles("ADMIN"))
+                        .header(HttpHeaders.IF_MATCH, readETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"Second Editor\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(userRepository.findById(savedUser.getId()).orElseThrow().getFullName()).isEqualTo("First Editor");
+    }
+
     @Test
     void userListingRejectsUnsupportedSortField() throws Exception {
         mockMvc.perform(get("/api/users")
@@ -187,6 +718,46 @@ class PortfolioApplicationTests {
         assertThat(passwordResetTokenRepository.findAll()).isEmpty();
     }
 
+    @Test
+    void maintenanceJobLocksAndDeletesInactiveUsers() {
+        var now = Instant.now();
+        var dormant = userRepository.save(User.builder()
+                .fullName("Dormant User")
+                .email("dormant@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .lastLogin(now.minus(Duration.ofDays(400)))
+                .build());
+        var idle = userRepository.save(User.builder()
+                .fullName("Idle User")
+                .email("idle@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .lastLogin(now.minus(Duration.ofDays(120)))
+                .build());
+        var active = userRepository.save(User.builder()
+                .fullName("Active User")
+                .email("active@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        passwordResetTokenRepository.save(PasswordResetToken.builder()
+                .user(dormant)
+                .tokenHash("b".repeat(64))
+                .expiresAt(now.plusSeconds(3600))
+                .build());
+
+        inactiveUserMaintenanceJob.run();
+
+        assertThat(userRepository.findById(dormant.getId())).isEmpty();
+        assertThat(passwordResetTokenRepository.findAll()).isEmpty();
+        assertThat(userRepository.findById(idle.getId()).orElseThrow().isLocked()).isTrue();
+        assertThat(userRepository.findById(active.getId()).orElseThrow().isLocked()).isFalse();
+    }
+
     @Test
     void forgotPasswordStoresHashedTokenAndResetConsumesIt() throws Exception {
         var savedUser = userRepository.save(User.builder()
@@ -250,8 +821,175 @@ class PortfolioApplicationTests {
                 .andExpect(jsonPath("$.token").isString())
                 .andExpect(jsonPath("$.expiresIn", greaterThan(0)));
 
+        lastLoginBuffer.flush();
         var reloadedUser = userRepository.findByEmail("login@example.com").orElseThrow();
-        assertThat(reloadedUser.getLastLogin()).isNotNull();
+        assertThat(reloadedUser.getLastLogin()).isCloseTo(Instant.now(), within(10, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void loginRehashesPasswordStoredAtDifferentCost() throws Exception {
+        userRepository.save(User.builder()
+                .fullName("Rehash User")
+                .email("rehash@example.com")
+                .password(new BCryptPasswordEncoder(4).encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "email": "rehash@example.com",
+                                  "password": "Password123"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        var rehashed = userRepository.findByEmail("rehash@example.com").orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("$2a$12$");
+        assertThat(passwordEncoder.matches("Password123", rehashed)).isTrue();
+    }
+
+    @Test
+    void bearerTokenAuthenticatesRepeatedRequests() throws Exception {
+        var admin = userRepository.save(User.builder()
+                .fullName("Token Admin")
+                .email("token.admin@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        var token = jwtService.generateToken(admin);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/users")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "tampered"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void keyRotationKeepsPreviouslyIssuedTokensValid() throws Exception {
+        var admin = userRepository.save(User.builder()
+                .fullName("Rotation Admin")
+                .email("rotation.admin@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        var tokenBeforeRotation = jwtService.generateToken(admin);
+
+        var currentKey = jwtKeyRepository.findFirstByOrderByCreatedDateDesc().orElseThrow();
+        currentKey.setExpirationDate(Instant.now().minusSeconds(60));
+        jwtKeyRepository.save(currentKey);
+        jwtService.rotateKey();
+
+        var tokenAfterRotation = jwtService.generateToken(admin);
+        assertThat(jwtKeyRepository.findFirstByOrderByCreatedDateDesc().orElseThrow().getKeyId())
+                .isNotEqualTo(currentKey.getKeyId());
+
+        for (var token : new String[]{tokenBeforeRotation, tokenAfterRotation}) {
+            mockMvc.perform(get("/api/users")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void jwksEndpointIsPublicAndConditional() throws Exception {
+        var eTag = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys").isArray())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/.well-known/jwks.json")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void lockingUserEvictsCachedPrincipal() throws Exception {
+        var admin = userRepository.save(User.builder()
+                .fullName("Cached Admin")
+                .email("cached.admin@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        var target = userRepository.save(User.builder()
+                .fullName("Cached User")
+                .email("cached.user@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        var adminToken = jwtService.generateToken(admin);
+
+        assertThat(userService.loadUserByUsername(target.getEmail()).isAccountNonLocked()).isTrue();
+
+        mockMvc.perform(put("/api/users/{id}/lock", target.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locked").value(true));
+
+        assertThat(userService.loadUserByUsername(target.getEmail()).isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void logoutRevokesBearerToken() throws Exception {
+        var admin = userRepository.save(User.builder()
+                .fullName("Logout Admin")
+                .email("logout.admin@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        var token = jwtService.generateToken(admin);
+
+        mockMvc.perform(get("/api/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        assertThat(jwtService.generateToken(admin)).isNotEqualTo(token);
+    }
+
+    @Test
+    void revocationAppliesOnCommitAndSurvivesConcurrentReload() {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        var expiresAt = Instant.now().plus(Duration.ofHours(1));
+        var rolledBack = UUID.randomUUID().toString();
+        var committed = UUID.randomUUID().toString();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tokenRevocationService.revoke(rolledBack, expiresAt);
+            status.setRollbackOnly();
+        });
+        assertThat(tokenRevocationService.isRevoked(rolledBack)).isFalse();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tokenRevocationService.revoke(committed, expiresAt);
+            assertThat(tokenRevocationService.isRevoked(committed)).isFalse();
+            // A reload on another connection cannot see the uncommitted row and swaps in a list without it.
+            CompletableFuture.runAsync(tokenRevocationService::reload).join();
+        });
+        assertThat(tokenRevocationService.isRevoked(committed)).isTrue();
+
+        tokenRevocationService.reload();
+        assertThat(tokenRevocationService.isRevoked(committed)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(rolledBack)).isFalse();
     }
 
     @Test
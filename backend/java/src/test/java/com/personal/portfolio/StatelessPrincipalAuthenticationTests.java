@@ -0,0 +1,142 @@
+package com.personal.portfolio;
+
+import com.personal.portfolio.model.Role;
+import com.personal.portfolio.model.User;
+import com.personal.portfolio.repository.PasswordResetTokenRepository;
+import com.personal.portfolio.repository.TokenEpochRepository;
+import com.personal.portfolio.repository.UserRepository;
+import com.personal.portfolio.service.JwtService;
+import com.personal.portfolio.service.TokenEpochRegistry;
+import com.personal.portfolio.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.stateless-principal.enabled=true")
+@ActiveProfiles("test")
+class StatelessPrincipalAuthenticationTests {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenEpochRepository tokenEpochRepository;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        tokenEpochRepository.deleteAll();
+    }
+
+    @Test
+    void authoritiesComeFromRolesClaim() throws Exception {
+        var user = saveUser("claims@example.com", Role.USER);
+
+        // The stored role is USER; only the claim grants ADMIN, so a database lookup would deny this request.
+        var adminClaims = jwtService.generateToken(Map.of("roles", List.of("ROLE_ADMIN")), user);
+        mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + adminClaims))
+                .andExpect(status().isOk());
+
+        var userClaims = jwtService.generateToken(Map.of("roles", List.of("ROLE_USER")), user);
+        mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + userClaims))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void lockRevokesEarlierTokensOnly() throws Exception {
+        var admin = saveUser("locked-admin@example.com", Role.ADMIN);
+        var before = jwtService.generateToken(admin);
+        waitForNextIssuedAtSecond();
+
+        userService.toggleLock(admin.getId());
+
+        mockMvc.perform(get("/api/users/{id}", admin.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + before))
+                .andExpect(status().isUnauthorized());
+        var after = jwtService.generateToken(admin);
+        mockMvc.perform(get("/api/users/{id}", admin.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + after))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void roleChangeRevokesEarlierTokensOnly() throws Exception {
+        var user = saveUser("promoted@example.com", Role.USER);
+        var before = jwtService.generateToken(user);
+        mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + before))
+                .andExpect(status().isForbidden());
+        waitForNextIssuedAtSecond();
+
+        var promoted = userService.changeUserRole(user.getId(), Role.ADMIN);
+
+        mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + before))
+                .andExpect(status().isUnauthorized());
+        var after = jwtService.generateToken(promoted);
+        mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + after))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void revocationEpochsSurviveRestart() throws Exception {
+        var user = saveUser("restarted@example.com", Role.ADMIN);
+        var before = Date.from(Instant.now());
+        waitForNextIssuedAtSecond();
+
+        userService.toggleLock(user.getId());
+
+        // A registry on a fresh node, or after a restart, starts from the persisted epochs.
+        var restarted = new TokenEpochRegistry(tokenEpochRepository, 7200000);
+        assertThat(restarted.isRevoked(user.getEmail(), before)).isTrue();
+        assertThat(restarted.isRevoked(user.getEmail(), Date.from(Instant.now().plusSeconds(1)))).isFalse();
+    }
+
+    private User saveUser(String email, Role role) {
+        return userRepository.save(User.builder()
+                .fullName("Stateless User")
+                .email(email)
+                .password("not-used")
+                .role(role)
+                .enabled(true)
+                .build());
+    }
+
+    /**
+     * Token {@code iat} has whole-second precision and a token from the same second as a change is accepted, so the
+     * change has to land in a later second than the token it should revoke.
+     */
+    private static void waitForNextIssuedAtSecond() throws InterruptedException {
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+    }
+}
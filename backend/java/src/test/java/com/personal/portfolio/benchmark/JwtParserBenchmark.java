@@ -0,0 +1,69 @@
+package com.personal.portfolio.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a {@link JwtParser} per call against reusing one pre-built parser per signing key.
+ * Run with {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=JwtParserBenchmark}; the gc profiler
+ * reports allocated bytes per operation as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParserBenchmark {
+
+    private static final String ISSUER = "Khova Krishna Pilato";
+    private static final String AUDIENCE = "com.personal.portfolio";
+
+    private SecretKey signingKey;
+    private JwtParser prebuiltParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        signingKey = Jwts.SIG.HS512.key().build();
+        prebuiltParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .build();
+
+        var now = Instant.now();
+        token = Jwts.builder()
+                .claims(Map.of("roles", List.of("ROLE_ADMIN")))
+                .subject("admin@example.com")
+                .issuer(ISSUER)
+                .audience().add(AUDIENCE).and()
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(7200)))
+                .signWith(signingKey, Jwts.SIG.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims parserPerCall() {
+        return Jwts.parser()
+                .verifyWith(signingKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Claims prebuiltParser() {
+        return prebuiltParser.parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,79 @@
+package com.personal.portfolio.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification cost of the HS512 signing mode against the asymmetric ES256 and Ed25519 modes,
+ * each with a pre-built parser. Run with {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private JwtParser hs512Parser;
+    private JwtParser es256Parser;
+    private JwtParser ed25519Parser;
+    private String hs512Token;
+    private String es256Token;
+    private String ed25519Token;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        var secretKey = Jwts.SIG.HS512.key().build();
+        hs512Parser = Jwts.parser().verifyWith(secretKey).build();
+        hs512Token = newToken().signWith(secretKey, Jwts.SIG.HS512).compact();
+
+        var ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        var ecKeyPair = ecGenerator.generateKeyPair();
+        es256Parser = Jwts.parser().verifyWith(ecKeyPair.getPublic()).build();
+        es256Token = newToken().signWith(ecKeyPair.getPrivate(), Jwts.SIG.ES256).compact();
+
+        var edKeyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        ed25519Parser = Jwts.parser().verifyWith(edKeyPair.getPublic()).build();
+        ed25519Token = newToken().signWith(edKeyPair.getPrivate(), Jwts.SIG.EdDSA).compact();
+    }
+
+    @Benchmark
+    public Claims hs512() {
+        return hs512Parser.parseSignedClaims(hs512Token).getPayload();
+    }
+
+    @Benchmark
+    public Claims es256() {
+        return es256Parser.parseSignedClaims(es256Token).getPayload();
+    }
+
+    @Benchmark
+    public Claims ed25519() {
+        return ed25519Parser.parseSignedClaims(ed25519Token).getPayload();
+    }
+
+    private static JwtBuilder newToken() {
+        var now = Instant.now();
+        return Jwts.builder()
+                .claims(Map.of("roles", List.of("ROLE_ADMIN")))
+                .subject("admin@example.com")
+                .issuer("Khova Krishna Pilato")
+                .audience().add("com.personal.portfolio").and()
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(7200)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.personal.portfolio.benchmark;
+
+import com.personal.portfolio.service.RevocationList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures revocation lookups on the request path for token ids that were never revoked (the common case, answered
+ * by the Bloom filter) and for revoked ones. Run with
+ * {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=TokenRevocationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TokenRevocationBenchmark {
+
+    @Param({"1000", "1000000", "5000000"})
+    private int revokedTokens;
+
+    private RevocationList revocationList;
+    private String[] absentJtis;
+    private String[] presentJtis;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        var revoked = new ArrayList<String>(revokedTokens);
+        for (int i = 0; i < revokedTokens; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+        revocationList = RevocationList.of(revoked, revokedTokens);
+
+        absentJtis = new String[1024];
+        presentJtis = new String[1024];
+        for (int i = 0; i < absentJtis.length; i++) {
+            absentJtis[i] = UUID.randomUUID().toString();
+            presentJtis[i] = revoked.get(i % revoked.size());
+        }
+    }
+
+    @Benchmark
+    public boolean absentLookup() {
+        return revocationList.contains(absentJtis[index++ & 1023]);
+    }
+
+    @Benchmark
+    public boolean presentLookup() {
+        return revocationList.contains(presentJtis[index++ & 1023]);
+    }
+}
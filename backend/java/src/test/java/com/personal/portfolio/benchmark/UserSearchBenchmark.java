@@ -0,0 +1,126 @@
+package com.personal.portfolio.benchmark;
+
+import com.personal.portfolio.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old {@code LOWER(..) LIKE '%term%'} user search against the prefix lookup on
+ * {@code user_search_terms} as the table grows, on an in-memory H2 database in MySQL mode. Run with
+ * {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=UserSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class UserSearchBenchmark {
+
+    private static final String SEARCH = "zephyrine";
+    private static final int MATCHES = 25;
+
+    @Param({"10000", "100000", "1000000"})
+    private int users;
+
+    private Connection connection;
+    private PreparedStatement likeScan;
+    private PreparedStatement termPrefix;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-" + users + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (var statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE users (
+                        id BIGINT NOT NULL PRIMARY KEY,
+                        full_name VARCHAR(100) NOT NULL,
+                        email VARCHAR(255) NOT NULL
+                    )
+                    """);
+            statement.execute("""
+                    CREATE TABLE user_search_terms (
+                        user_id BIGINT NOT NULL,
+                        term VARCHAR(255) NOT NULL,
+                        PRIMARY KEY (user_id, term)
+                    )
+                    """);
+            statement.execute("CREATE INDEX idx_user_search_term ON user_search_terms (term, user_id)");
+        }
+
+        connection.setAutoCommit(false);
+        try (var insertUser = connection.prepareStatement("INSERT INTO users (id, full_name, email) VALUES (?, ?, ?)");
+             var insertTerm = connection.prepareStatement("INSERT INTO user_search_terms (user_id, term) VALUES (?, ?)")) {
+            var matchEvery = users / MATCHES;
+            for (long id = 1; id <= users; id++) {
+                var fullName = (id % matchEvery == 0 ? "Zephyrine" : "Member" + id) + " Family" + (id % 5000);
+                var email = "member" + id + "@example.com";
+                insertUser.setLong(1, id);
+                insertUser.setString(2, fullName);
+                insertUser.setString(3, email);
+                insertUser.addBatch();
+                for (var term : User.searchTermsFor(fullName, email)) {
+                    insertTerm.setLong(1, id);
+                    insertTerm.setString(2, term);
+                    insertTerm.addBatch();
+                }
+                if (id % 10_000 == 0) {
+                    insertUser.executeBatch();
+                    insertTerm.executeBatch();
+                }
+            }
+            insertUser.executeBatch();
+            insertTerm.executeBatch();
+        }
+        connection.commit();
+
+        likeScan = connection.prepareStatement("""
+                SELECT u.id FROM users u
+                WHERE LOWER(u.full_name) LIKE LOWER(CONCAT('%', ?, '%'))
+                   OR LOWER(u.email) LIKE LOWER(CONCAT('%', ?, '%'))
+                ORDER BY u.id LIMIT 20
+                """);
+        likeScan.setString(1, SEARCH);
+        likeScan.setString(2, SEARCH);
+
+        termPrefix = connection.prepareStatement("""
+                SELECT u.id FROM users u
+                WHERE u.id IN (SELECT t.user_id FROM user_search_terms t WHERE t.term LIKE CONCAT(?, '%'))
+                ORDER BY u.id LIMIT 20
+                """);
+        termPrefix.setString(1, SEARCH);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int likeScan() throws SQLException {
+        return count(likeScan);
+    }
+
+    @Benchmark
+    public int termPrefix() throws SQLException {
+        return count(termPrefix);
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        var rows = 0;
+        try (var resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
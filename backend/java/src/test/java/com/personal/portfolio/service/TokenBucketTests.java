@@ -0,0 +1,50 @@
+package com.personal.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTests {
+
+    @Test
+    void burstIsImmediateAndTheRestFollowsTheRate() throws InterruptedException {
+        var bucket = new TokenBucket(20, 5);
+
+        var burstStart = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            bucket.acquire();
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - burstStart)).isLessThan(Duration.ofMillis(100));
+
+        // Ten more tokens at 20 per second need about half a second of refill.
+        var throttledStart = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            bucket.acquire();
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - throttledStart))
+                .isGreaterThanOrEqualTo(Duration.ofMillis(450))
+                .isLessThan(Duration.ofMillis(1500));
+    }
+
+    @Test
+    void idleTimeRefillsNoMoreThanCapacity() throws InterruptedException {
+        var bucket = new TokenBucket(100, 3);
+        Thread.sleep(200);
+
+        var start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            bucket.acquire();
+        }
+        // Three tokens were banked; the other two wait about 10 ms each.
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(15));
+    }
+
+    @Test
+    void rejectsNonPositiveRateOrCapacity() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}